@@ -0,0 +1,23 @@
+package com.blog.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String nodeId;
+
+    private String cacheName;
+
+    /**
+     * 为 null 表示清空整个缓存
+     */
+    private String key;
+}
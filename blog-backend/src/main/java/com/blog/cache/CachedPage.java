@@ -0,0 +1,40 @@
+package com.blog.cache;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+@Data
+@NoArgsConstructor
+public class CachedPage<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<T> records;
+
+    private long total;
+
+    private long current;
+
+    private long size;
+
+    public static <T> CachedPage<T> of(IPage<T> page, UnaryOperator<T> mapper) {
+        CachedPage<T> cached = new CachedPage<>();
+        cached.setRecords(new ArrayList<>(page.getRecords().stream().map(mapper).toList()));
+        cached.setTotal(page.getTotal());
+        cached.setCurrent(page.getCurrent());
+        cached.setSize(page.getSize());
+        return cached;
+    }
+
+    public IPage<T> toPage(UnaryOperator<T> mapper) {
+        Page<T> page = new Page<>(current, size, total);
+        page.setRecords(new ArrayList<>(records.stream().map(mapper).toList()));
+        return page;
+    }
+}
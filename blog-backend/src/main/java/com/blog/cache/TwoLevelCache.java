@@ -0,0 +1,163 @@
+package com.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 本地 Caffeine 近缓存 + Redis 远程缓存。读先查本地，未命中再查 Redis 并回填本地；
+ * 写和失效同时作用于两级，并通过 {@link TwoLevelCacheManager} 广播给其它节点清理本地副本。
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final TwoLevelCacheManager manager;
+
+    /**
+     * blog.cache.gets: local 本地命中，remote Redis 命中，miss 两级都未命中
+     */
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    public TwoLevelCache(String name, Cache<String, Object> local,
+                         org.springframework.cache.Cache remote, TwoLevelCacheManager manager,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+        this.localHits = getsCounter(name, "local", meterRegistry);
+        this.remoteHits = getsCounter(name, "remote", meterRegistry);
+        this.misses = getsCounter(name, "miss", meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey, wrapper.get());
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = {false};
+        T result = (T) local.get(localKey(key), k -> {
+            loaded[0] = true;
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                remoteHits.increment();
+                return wrapper.get();
+            }
+            misses.increment();
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value != null) {
+                remote.put(key, value);
+            }
+            return value;
+        });
+        if (!loaded[0]) {
+            localHits.increment();
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        manager.publish(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.invalidate(localKey(key));
+        manager.publish(name, localKey(key));
+        return existing == null ? null : new SimpleValueWrapper(existing.get());
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        manager.publish(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.invalidate(localKey(key));
+        manager.publish(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        manager.publish(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        manager.publish(name, null);
+        return invalidated;
+    }
+
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private static Counter getsCounter(String cache, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("blog.cache.gets").tag("cache", cache).tag("result", result).register(meterRegistry);
+    }
+
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,88 @@
+package com.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remoteCacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String channel;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, RedisTemplate<String, Object> redisTemplate,
+                                String channel, long localMaximumSize, Duration localExpireAfterWrite,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof CacheInvalidationMessage invalidation) || nodeId.equals(invalidation.getNodeId())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.getCacheName());
+        if (cache != null) {
+            cache.evictLocal(invalidation.getKey());
+        }
+    }
+
+    void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, new CacheInvalidationMessage(nodeId, cacheName, key));
+        } catch (Exception e) {
+            log.warn("广播缓存失效消息失败: cache={}, key={}, {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalStateException("远程缓存不存在: " + name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localExpireAfterWrite)
+                .build();
+        Gauge.builder("blog.cache.local.size", local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name)
+                .register(meterRegistry);
+        return new TwoLevelCache(name, local, remote, this, meterRegistry);
+    }
+}
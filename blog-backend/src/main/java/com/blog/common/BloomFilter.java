@@ -0,0 +1,99 @@
+package com.blog.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的字符串布隆过滤器，位数组在创建时固定，内存有上界。
+ * mightContain 返回 false 时元素一定不存在。
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.words = new AtomicLongArray((int) (numBits >>> 6));
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * 按预期元素数和目标误判率计算位数与哈希次数，位数不超过 maxBits
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp, long maxBits) {
+        long n = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long bits = Math.max(64, Math.min(optimalBits, maxBits));
+        bits = (bits + 63) & ~63L;
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, Math.min(hashes, 16));
+    }
+
+    public void put(String value) {
+        long hash = fnv1a(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            if (setBit(Math.floorMod(h1 + i * h2, numBits))) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = fnv1a(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long index = Math.floorMod(h1 + i * h2, numBits);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前置位比例估算误判率: (置位数 / 总位数)^k
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitsSet.get() / numBits, numHashes);
+    }
+
+    public long bitSize() {
+        return numBits;
+    }
+
+    private boolean setBit(long index) {
+        int wordIndex = (int) (index >>> 6);
+        long mask = 1L << index;
+        while (true) {
+            long word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(wordIndex, word, word | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CounterBuffer {
+
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void add(Long id, long delta) {
+        LongAdder adder = counters.computeIfAbsent(id, k -> new LongAdder());
+        adder.add(delta);
+        if (counters.get(id) != adder) {
+            // drain 已把这个计数器移出 map，把留在旧计数器里的增量转到新计数器
+            long orphaned = adder.sumThenReset();
+            if (orphaned != 0) {
+                add(id, orphaned);
+            }
+        }
+    }
+
+    public void increment(Long id) {
+        add(id, 1L);
+    }
+
+    public long pending(Long id) {
+        LongAdder adder = counters.get(id);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 取出所有待刷新的增量并清零。sumThenReset 对每个 cell 是原子交换，
+     * 并发中的增量要么计入本次结果，要么留到下一次。
+     * 整个周期都没有增量的计数器会被移除，避免 map 无限增长。
+     * 移除前后都可能有线程拿着旧引用写入: 移除之前写入的由移除后的再次 sumThenReset 取走，
+     * 之后写入的由 add 发现计数器已不在 map 中并自行转移，每个增量只会被取走一次。
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        counters.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta == 0 && counters.remove(id, adder)) {
+                delta = adder.sumThenReset();
+            }
+            if (delta != 0) {
+                deltas.put(id, delta);
+            }
+        });
+        return deltas;
+    }
+
+    public void restore(Map<Long, Long> deltas) {
+        deltas.forEach(this::add);
+    }
+
+    public int size() {
+        return counters.size();
+    }
+}
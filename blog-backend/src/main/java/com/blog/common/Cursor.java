@@ -0,0 +1,39 @@
+package com.blog.common;
+
+import com.blog.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游标分页位置: 上一页最后一条记录的 (create_time, id)，编码为 URL 安全的 Base64 字符串。
+ */
+@Getter
+@AllArgsConstructor
+public class Cursor {
+
+    private final LocalDateTime createTime;
+
+    private final Long id;
+
+    public String encode() {
+        String raw = createTime + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(400, "无效的游标");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.common;
+
+import java.util.regex.Pattern;
+
+/**
+ * Markdown 转纯文本，用于生成列表摘录和阅读时长
+ */
+public final class MarkdownText {
+
+    private static final Pattern CODE_BLOCK = Pattern.compile("(?s)```.*?(```|$)|~~~.*?(~~~|$)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern REFERENCE_DEFINITION = Pattern.compile("(?m)^\\s*\\[[^\\]]+]:\\s*\\S+.*$");
+    private static final Pattern INLINE_CODE = Pattern.compile("`([^`]*)`");
+    private static final Pattern LINE_PREFIX = Pattern.compile("(?m)^\\s{0,3}(#{1,6}\\s+|>+\\s?|[-*+]\\s+|\\d+[.)]\\s+)");
+    private static final Pattern HORIZONTAL_RULE = Pattern.compile("(?m)^\\s*([-*_]\\s*){3,}$");
+    private static final Pattern TABLE_SEPARATOR = Pattern.compile("(?m)^\\s*\\|?\\s*:?-+:?\\s*(\\|\\s*:?-+:?\\s*)*\\|?\\s*$");
+    private static final Pattern EMPHASIS = Pattern.compile("(\\*{1,3}|~~)(\\S(?:.*?\\S)?)\\1");
+    /** 下划线只在词边界处表示强调，user_id_field 这类标识符保持原样 */
+    private static final Pattern UNDERSCORE_EMPHASIS =
+            Pattern.compile("(?<![\\p{L}\\p{N}_])(_{1,3})(\\S(?:.*?\\S)?)\\1(?![\\p{L}\\p{N}_])");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s|]+");
+
+    /** 中文按字计，约 300 字/分钟 */
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+    /** 英文按词计，约 200 词/分钟 */
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private MarkdownText() {
+    }
+
+    public static String toPlainText(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        String text = CODE_BLOCK.matcher(markdown).replaceAll(" ");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll("$1");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = REFERENCE_DEFINITION.matcher(text).replaceAll(" ");
+        text = INLINE_CODE.matcher(text).replaceAll("$1");
+        text = HORIZONTAL_RULE.matcher(text).replaceAll(" ");
+        text = TABLE_SEPARATOR.matcher(text).replaceAll(" ");
+        text = LINE_PREFIX.matcher(text).replaceAll("");
+        text = EMPHASIS.matcher(text).replaceAll("$2");
+        text = UNDERSCORE_EMPHASIS.matcher(text).replaceAll("$2");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * 截取不超过 maxLength 个字符的摘录，按码点截断避免拆开代理对
+     */
+    public static String excerpt(String plainText, int maxLength) {
+        if (plainText.codePointCount(0, plainText.length()) <= maxLength) {
+            return plainText;
+        }
+        int end = plainText.offsetByCodePoints(0, maxLength - 1);
+        return plainText.substring(0, end).trim() + "…";
+    }
+
+    public static int readingMinutes(String plainText) {
+        int cjkChars = 0;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < plainText.length(); ) {
+            int codePoint = plainText.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+                cjkChars++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+            }
+        }
+        double minutes = (double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE;
+        return Math.max(1, (int) Math.ceil(minutes));
+    }
+}
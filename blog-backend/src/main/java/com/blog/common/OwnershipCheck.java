@@ -0,0 +1,20 @@
+package com.blog.common;
+
+import com.blog.exception.BusinessException;
+
+public final class OwnershipCheck {
+
+    private OwnershipCheck() {
+    }
+
+    /**
+     * 带 user_id 条件的更新/删除未命中时，根据回读的归属者区分"不存在"与"无权限"；
+     * 记录不存在时 ownerId 传 null，归属者就是当前用户说明记录已被并发删除
+     */
+    public static void throwUpdateFailure(Long ownerId, Long userId, String notFoundMessage, String deniedMessage) {
+        if (ownerId == null || ownerId.equals(userId)) {
+            throw new BusinessException(notFoundMessage);
+        }
+        throw new BusinessException(deniedMessage);
+    }
+}
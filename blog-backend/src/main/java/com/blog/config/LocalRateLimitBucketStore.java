@@ -0,0 +1,31 @@
+package com.blog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitBucketStore(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Bucket resolve(String key, BucketConfiguration configuration) {
+        return buckets.get(key, k -> {
+            LocalBucketBuilder builder = Bucket.builder();
+            for (Bandwidth bandwidth : configuration.getBandwidths()) {
+                builder.addLimit(bandwidth);
+            }
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.blog.config;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.blog.metrics.QueryMetricsInterceptor;
+import com.blog.metrics.SqlLogProperties;
+import com.blog.metrics.SqlLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SqlLogProperties.class)
+public class MybatisPlusConfig {
+
+    /**
+     * 分页插件: 将 IPage 参数改写为分页子句并执行 COUNT。
+     * 不指定 DbType，按 JDBC URL 识别方言 (MySQL 为 LIMIT ?,?，PostgreSQL 为 LIMIT ? OFFSET ?)
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor());
+        return interceptor;
+    }
+
+    /**
+     * SQL 耗时与每请求查询数统计，慢 SQL 与抽样 SQL 日志
+     */
+    @Bean
+    public QueryMetricsInterceptor queryMetricsInterceptor(MeterRegistry meterRegistry, SqlLogProperties sqlLogProperties) {
+        return new QueryMetricsInterceptor(meterRegistry, new SqlLogger(sqlLogProperties));
+    }
+}
@@ -0,0 +1,9 @@
+package com.blog.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+public interface RateLimitBucketStore {
+
+    Bucket resolve(String key, BucketConfiguration configuration);
+}
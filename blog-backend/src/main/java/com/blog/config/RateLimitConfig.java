@@ -0,0 +1,25 @@
+package com.blog.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.rate-limit", name = "mode", havingValue = "redis")
+    public RateLimitBucketStore redisRateLimitBucketStore(LettuceConnectionFactory connectionFactory,
+                                                          RateLimitProperties properties) {
+        return new RedisRateLimitBucketStore(connectionFactory, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.rate-limit", name = "mode", havingValue = "local", matchIfMissing = true)
+    public RateLimitBucketStore localRateLimitBucketStore(RateLimitProperties properties) {
+        return new LocalRateLimitBucketStore(properties);
+    }
+}
@@ -2,22 +2,52 @@ package com.blog.config;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.github.bucket4j.BucketConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.context.annotation.Configuration;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
-@Configuration
+@Slf4j
+@Component
 public class RateLimitFilter implements Filter {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final String DEFAULT_PROFILE = "default";
+
+    private final RateLimitBucketStore bucketStore;
+    private final List<RateLimitProperties.Profile> profiles;
+    private final List<BucketConfiguration> profileConfigurations;
+    private final BucketConfiguration defaultConfiguration;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+    private final Counter storeErrorCounter;
+
+    public RateLimitFilter(RateLimitBucketStore bucketStore, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.bucketStore = bucketStore;
+        this.profiles = List.copyOf(properties.getProfiles());
+        this.profileConfigurations = profiles.stream()
+                .map(profile -> configuration(profile.getCapacity(), profile.getPeriod()))
+                .toList();
+        this.defaultConfiguration = configuration(
+                properties.getDefaultLimit().getCapacity(), properties.getDefaultLimit().getPeriod());
+        rejectedCounters.put(DEFAULT_PROFILE, rejectedCounter(DEFAULT_PROFILE, meterRegistry));
+        profiles.forEach(profile -> rejectedCounters.put(profile.getName(), rejectedCounter(profile.getName(), meterRegistry)));
+        this.storeErrorCounter = Counter.builder("blog.ratelimit.store.errors").register(meterRegistry);
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -26,28 +56,72 @@ public class RateLimitFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
-        String clientId = getClientId(httpRequest);
-        Bucket bucket = buckets.computeIfAbsent(clientId, this::createBucket);
+        String profileName = DEFAULT_PROFILE;
+        BucketConfiguration configuration = defaultConfiguration;
+        boolean perIp = false;
+        for (int i = 0; i < profiles.size(); i++) {
+            if (matches(profiles.get(i), httpRequest)) {
+                profileName = profiles.get(i).getName();
+                configuration = profileConfigurations.get(i);
+                perIp = profiles.get(i).isPerIp();
+                break;
+            }
+        }
         
-        if (bucket.tryConsume(1)) {
+        String key = profileName + ":" + getClientId(httpRequest, perIp);
+        if (tryConsume(key, configuration)) {
             chain.doFilter(request, response);
         } else {
+            rejectedCounters.get(profileName).increment();
             httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             httpResponse.setContentType("application/json");
+            httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
             httpResponse.getWriter().write("{\"code\":429,\"message\":\"请求过于频繁，请稍后重试\"}");
         }
     }
 
-    private String getClientId(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            return token.substring(7);
+    private boolean tryConsume(String key, BucketConfiguration configuration) {
+        try {
+            Bucket bucket = bucketStore.resolve(key, configuration);
+            return bucket.tryConsume(1);
+        } catch (Exception e) {
+            storeErrorCounter.increment();
+            log.warn("限流存储不可用，放行请求: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private boolean matches(RateLimitProperties.Profile profile, HttpServletRequest request) {
+        if (!profile.getMethods().isEmpty() && !profile.getMethods().contains(request.getMethod())) {
+            return false;
         }
-        return request.getRemoteAddr();
+        if (profile.getPatterns().isEmpty()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return profile.getPatterns().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * 本过滤器在 Spring Security 之后执行，只信任 JwtAuthenticationFilter 校验通过的用户ID；
+     * 请求头中未经校验的令牌不参与计算，否则每次换一个伪造令牌就能拿到新的令牌桶
+     */
+    private String getClientId(HttpServletRequest request, boolean perIp) {
+        if (!perIp) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof Long userId) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static Counter rejectedCounter(String profile, MeterRegistry meterRegistry) {
+        return Counter.builder("blog.ratelimit.rejected").tag("profile", profile).register(meterRegistry);
     }
 
-    private Bucket createBucket(String key) {
-        Bandwidth limit = Bandwidth.classic(60, Refill.greedy(60, Duration.ofMinutes(1)));
-        return Bucket.builder().addLimit(limit).build();
+    private BucketConfiguration configuration(long capacity, Duration period) {
+        Bandwidth limit = Bandwidth.builder().capacity(capacity).refillGreedy(capacity, period).build();
+        return BucketConfiguration.builder().addLimit(limit).build();
     }
 }
@@ -0,0 +1,59 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "blog.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * local: 每个节点独立计数; redis: 通过 Redis 在所有节点间共享令牌桶
+     */
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * 本地模式下最多保留的令牌桶数量
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * 令牌桶空闲多久后被回收
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * 按顺序匹配，第一个命中的规则生效；都不命中时使用 defaultLimit
+     */
+    private List<Profile> profiles = new ArrayList<>();
+
+    public enum Mode {
+        LOCAL, REDIS
+    }
+
+    @Data
+    public static class Limit {
+        private long capacity = 60;
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Profile {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private long capacity;
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * 始终按 IP 计数，忽略登录身份；用于登录、注册等防暴力破解的规则
+         */
+        private boolean perIp = false;
+    }
+}
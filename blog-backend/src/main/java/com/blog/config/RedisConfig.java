@@ -1,11 +1,15 @@
 package com.blog.config;
 
+import com.blog.cache.TwoLevelCacheManager;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +17,8 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -23,17 +29,23 @@ import java.time.Duration;
 @EnableCaching
 public class RedisConfig {
 
+    /**
+     * RedisTemplate 与缓存共用的值序列化器，写入类型信息以便反序列化回原类型
+     */
+    public static Jackson2JsonRedisSerializer<Object> jsonRedisSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        mapper.registerModule(new JavaTimeModule());
+        return new Jackson2JsonRedisSerializer<>(mapper, Object.class);
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
-        mapper.registerModule(new JavaTimeModule());
-        serializer.setObjectMapper(mapper);
+        Jackson2JsonRedisSerializer<Object> serializer = jsonRedisSerializer();
 
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(serializer);
@@ -45,22 +57,43 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
-        mapper.registerModule(new JavaTimeModule());
-        serializer.setObjectMapper(mapper);
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     @Value("${blog.cache.invalidation-channel:cache:invalidate}") String channel,
+                                     @Value("${blog.cache.key-version:v1}") String keyVersion,
+                                     @Value("${blog.cache.local.maximum-size:10000}") long localMaximumSize,
+                                     @Value("${blog.cache.local.expire-after-write:60s}") Duration localExpireAfterWrite,
+                                     MeterRegistry meterRegistry) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager(connectionFactory, keyVersion), redisTemplate, channel, localMaximumSize,
+                localExpireAfterWrite, meterRegistry);
+        listenerContainer.addMessageListener(cacheManager, new ChannelTopic(channel));
+        return cacheManager;
+    }
+
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, String keyVersion) {
+        Jackson2JsonRedisSerializer<Object> serializer = jsonRedisSerializer();
 
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
+                // 缓存值结构变化时升级版本号，旧 key 自然过期，避免反序列化失败
+                .computePrefixWith(cacheName -> "cache:" + keyVersion + ":" + cacheName + "::")
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
     }
 }
@@ -0,0 +1,54 @@
+package com.blog.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * 基于 bucket4j ProxyManager 的分布式令牌桶，桶状态保存在 Redis，所有节点共享同一份限额。
+ * 桶在补满所需时间加上空闲超时后自动过期。
+ * 复用 Spring 按 spring.data.redis.* (url、ssl、sentinel、超时等) 创建的 Lettuce 客户端，
+ * 只另开一条 String/byte[] 编解码的连接，客户端的生命周期仍由连接工厂管理。
+ */
+public class RedisRateLimitBucketStore implements RateLimitBucketStore, DisposableBean {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final ProxyManager<String> proxyManager;
+
+    public RedisRateLimitBucketStore(LettuceConnectionFactory connectionFactory, RateLimitProperties properties) {
+        AbstractRedisClient nativeClient = connectionFactory.getRequiredNativeClient();
+        if (!(nativeClient instanceof RedisClient client)) {
+            throw new IllegalStateException("Redis 模式限流不支持 Redis Cluster");
+        }
+        this.connection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        this.proxyManager = LettuceBasedProxyManager.builderFor(connection)
+                .withExpirationStrategy(ExpirationAfterWriteStrategy
+                        .basedOnTimeForRefillingBucketUpToMax(properties.getIdleTimeout()))
+                .build();
+    }
+
+    @Override
+    public Bucket resolve(String key, BucketConfiguration configuration) {
+        return proxyManager.builder().build(KEY_PREFIX + key, () -> configuration);
+    }
+
+    @Override
+    public void destroy() {
+        // 连接工厂在生命周期停止阶段已关闭客户端及其所有连接
+        if (connection.isOpen()) {
+            connection.close();
+        }
+    }
+}
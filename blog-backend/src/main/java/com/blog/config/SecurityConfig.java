@@ -1,7 +1,9 @@
 package com.blog.config;
 
 import com.blog.security.JwtAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -30,9 +32,18 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${blog.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -47,6 +58,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/questions/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
+                        // 单独的管理端口不对公网暴露，供 Prometheus 免登录抓取
+                        .requestMatchers(this::isManagementPort).permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/doc.html").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -55,6 +70,10 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isManagementPort(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,25 @@
+package com.blog.config;
+
+import com.blog.metrics.QueryBudgetProperties;
+import com.blog.metrics.RequestMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties queryBudgetProperties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, queryBudgetProperties))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,39 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import com.blog.service.CategoryService;
+import com.blog.service.NoteExcerptService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "系统管理")
+public class AdminController {
+
+    private final NoteExcerptService noteExcerptService;
+    private final CategoryService categoryService;
+
+    @PostMapping("/notes/excerpts/backfill")
+    @Operation(summary = "回填笔记摘录")
+    public Result<Void> backfillNoteExcerpts() {
+        if (!noteExcerptService.startBackfill()) {
+            return Result.error(409, "回填任务正在运行");
+        }
+        return Result.success("回填任务已启动");
+    }
+
+    @PostMapping("/categories/refresh")
+    @Operation(summary = "刷新分类快照")
+    public Result<Void> refreshCategories() {
+        categoryService.notifyChanged();
+        return Result.success("分类快照已刷新");
+    }
+}
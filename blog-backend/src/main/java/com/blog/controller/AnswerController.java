@@ -67,8 +67,14 @@ public class AnswerController {
 
     @PostMapping("/{id}/like")
     @Operation(summary = "点赞回答")
-    public Result<Void> likeAnswer(@PathVariable Long id) {
-        answerService.likeAnswer(id);
+    public Result<Void> likeAnswer(
+            @PathVariable Long id,
+            Authentication authentication) {
+        
+        Long userId = (Long) authentication.getPrincipal();
+        if (!answerService.likeAnswer(userId, id)) {
+            return Result.success("已经点过赞了");
+        }
         return Result.success("点赞成功");
     }
 
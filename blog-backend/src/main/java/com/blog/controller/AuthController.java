@@ -14,6 +14,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -25,57 +27,24 @@ public class AuthController {
 
     @PostMapping("/register")
     @Operation(summary = "用户注册")
-    public Result<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<Result<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
         if (!request.getPassword().equals(request.getConfirmPassword())) {
-            return Result.badRequest("两次密码输入不一致");
+            return CompletableFuture.completedFuture(Result.badRequest("两次密码输入不一致"));
         }
 
-        User user = userService.register(
+        return userService.register(
                 request.getUsername(),
                 request.getPassword(),
                 request.getNickname(),
                 request.getEmail()
-        );
-
-        String token = jwtUtils.generateToken(user.getId(), user.getUsername(), user.getRole());
-        
-        AuthResponse response = new AuthResponse(
-                token,
-                jwtUtils.getExpiration(),
-                new AuthResponse.UserInfo(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getNickname(),
-                        user.getEmail(),
-                        user.getAvatar(),
-                        user.getRole()
-                )
-        );
-        
-        return Result.success("注册成功", response);
+        ).thenApply(user -> Result.success("注册成功", buildAuthResponse(user)));
     }
 
     @PostMapping("/login")
     @Operation(summary = "用户登录")
-    public Result<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        User user = userService.login(request.getUsername(), request.getPassword());
-        
-        String token = jwtUtils.generateToken(user.getId(), user.getUsername(), user.getRole());
-        
-        AuthResponse response = new AuthResponse(
-                token,
-                jwtUtils.getExpiration(),
-                new AuthResponse.UserInfo(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getNickname(),
-                        user.getEmail(),
-                        user.getAvatar(),
-                        user.getRole()
-                )
-        );
-        
-        return Result.success("登录成功", response);
+    public CompletableFuture<Result<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return userService.login(request.getUsername(), request.getPassword())
+                .thenApply(user -> Result.success("登录成功", buildAuthResponse(user)));
     }
 
     @GetMapping("/me")
@@ -107,4 +76,20 @@ public class AuthController {
     public Result<Boolean> checkEmail(@RequestParam String email) {
         return Result.success(userService.checkEmailExists(email));
     }
+
+    private AuthResponse buildAuthResponse(User user) {
+        String token = jwtUtils.generateToken(user.getId(), user.getUsername(), user.getRole());
+        return new AuthResponse(
+                token,
+                jwtUtils.getExpiration(),
+                new AuthResponse.UserInfo(
+                        user.getId(),
+                        user.getUsername(),
+                        user.getNickname(),
+                        user.getEmail(),
+                        user.getAvatar(),
+                        user.getRole()
+                )
+        );
+    }
 }
@@ -3,6 +3,8 @@ package com.blog.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.common.Result;
+import com.blog.dto.CursorPage;
+import com.blog.dto.NoteListItem;
 import com.blog.dto.NoteForm;
 import com.blog.entity.Note;
 import com.blog.entity.Category;
@@ -30,17 +32,33 @@ public class NoteController {
 
     @GetMapping
     @Operation(summary = "获取笔记列表")
-    public Result<IPage<Note>> getNoteList(
+    public Result<IPage<NoteListItem>> getNoteList(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer pageSize,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String keyword) {
         
-        Page<Note> pageParam = new Page<>(page, pageSize);
-        IPage<Note> result = noteService.getNotePage(pageParam, categoryId, keyword, null);
+        Page<NoteListItem> pageParam = new Page<>(page, pageSize);
+        IPage<NoteListItem> result = noteService.getNotePage(pageParam, categoryId, keyword, null);
         return Result.success(result);
     }
 
+    @GetMapping("/feed")
+    @Operation(summary = "游标分页获取笔记流")
+    public Result<CursorPage<NoteListItem>> getNoteFeed(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) Long categoryId) {
+        
+        return Result.success(noteService.getNoteFeed(after, pageSize, categoryId));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "获取热门笔记")
+    public Result<List<NoteListItem>> getTrendingNotes(@RequestParam(defaultValue = "10") Integer limit) {
+        return Result.success(noteService.getTrendingNotes(limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "获取笔记详情")
     public Result<Note> getNoteDetail(@PathVariable Long id) {
@@ -51,14 +69,14 @@ public class NoteController {
 
     @GetMapping("/my")
     @Operation(summary = "获取我的笔记")
-    public Result<IPage<Note>> getMyNotes(
+    public Result<IPage<NoteListItem>> getMyNotes(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer pageSize,
             Authentication authentication) {
         
         Long userId = (Long) authentication.getPrincipal();
-        Page<Note> pageParam = new Page<>(page, pageSize);
-        IPage<Note> result = noteService.getMyNotes(pageParam, userId);
+        Page<NoteListItem> pageParam = new Page<>(page, pageSize);
+        IPage<NoteListItem> result = noteService.getMyNotes(pageParam, userId);
         return Result.success(result);
     }
 
@@ -98,14 +116,20 @@ public class NoteController {
 
     @PostMapping("/{id}/like")
     @Operation(summary = "点赞笔记")
-    public Result<Void> likeNote(@PathVariable Long id) {
-        noteService.incrementLikeCount(id);
+    public Result<Void> likeNote(
+            @PathVariable Long id,
+            Authentication authentication) {
+        
+        Long userId = (Long) authentication.getPrincipal();
+        if (!noteService.likeNote(userId, id)) {
+            return Result.success("已经点过赞了");
+        }
         return Result.success("点赞成功");
     }
 
     @GetMapping("/categories")
     @Operation(summary = "获取分类列表")
     public Result<List<Category>> getCategories() {
-        return Result.success(categoryService.list());
+        return Result.success(categoryService.listCategories());
     }
 }
@@ -3,6 +3,8 @@ package com.blog.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.common.Result;
+import com.blog.dto.CursorPage;
+import com.blog.dto.QuestionListItem;
 import com.blog.dto.QuestionForm;
 import com.blog.entity.Question;
 import com.blog.security.JwtUtils;
@@ -14,6 +16,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/questions")
 @RequiredArgsConstructor
@@ -25,16 +29,31 @@ public class QuestionController {
 
     @GetMapping
     @Operation(summary = "获取问题列表")
-    public Result<IPage<Question>> getQuestionList(
+    public Result<IPage<QuestionListItem>> getQuestionList(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer pageSize,
             @RequestParam(required = false) String keyword) {
         
-        Page<Question> pageParam = new Page<>(page, pageSize);
-        IPage<Question> result = questionService.getQuestionPage(pageParam, keyword, null);
+        Page<QuestionListItem> pageParam = new Page<>(page, pageSize);
+        IPage<QuestionListItem> result = questionService.getQuestionPage(pageParam, keyword, null);
         return Result.success(result);
     }
 
+    @GetMapping("/feed")
+    @Operation(summary = "游标分页获取问题流")
+    public Result<CursorPage<QuestionListItem>> getQuestionFeed(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") Integer pageSize) {
+        
+        return Result.success(questionService.getQuestionFeed(after, pageSize));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "获取热门问题")
+    public Result<List<QuestionListItem>> getTrendingQuestions(@RequestParam(defaultValue = "10") Integer limit) {
+        return Result.success(questionService.getTrendingQuestions(limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "获取问题详情")
     public Result<Question> getQuestionDetail(@PathVariable Long id) {
@@ -45,14 +64,14 @@ public class QuestionController {
 
     @GetMapping("/my")
     @Operation(summary = "获取我的问题")
-    public Result<IPage<Question>> getMyQuestions(
+    public Result<IPage<QuestionListItem>> getMyQuestions(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer pageSize,
             Authentication authentication) {
         
         Long userId = (Long) authentication.getPrincipal();
-        Page<Question> pageParam = new Page<>(page, pageSize);
-        IPage<Question> result = questionService.getMyQuestions(pageParam, userId);
+        Page<QuestionListItem> pageParam = new Page<>(page, pageSize);
+        IPage<QuestionListItem> result = questionService.getMyQuestions(pageParam, userId);
         return Result.success(result);
     }
 
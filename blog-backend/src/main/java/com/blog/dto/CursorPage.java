@@ -0,0 +1,14 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> records;
+    private String nextCursor;
+    private Boolean hasMore;
+}
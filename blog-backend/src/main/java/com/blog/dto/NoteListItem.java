@@ -0,0 +1,43 @@
+package com.blog.dto;
+
+import com.blog.entity.Category;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 笔记列表项，不含正文
+ */
+@Data
+public class NoteListItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long userId;
+
+    private String title;
+
+    private String summary;
+
+    private String excerpt;
+
+    private Integer readingMinutes;
+
+    private Long categoryId;
+
+    private Integer viewCount;
+
+    private Integer likeCount;
+
+    private Integer status;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime updateTime;
+
+    private UserSummary user;
+
+    private Category category;
+}
@@ -0,0 +1,34 @@
+package com.blog.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 问题列表项，不含正文
+ */
+@Data
+public class QuestionListItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long userId;
+
+    private String title;
+
+    private Integer viewCount;
+
+    private Integer answerCount;
+
+    private Long acceptedAnswerId;
+
+    private Integer status;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime updateTime;
+
+    private UserSummary user;
+}
@@ -0,0 +1,13 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchResult {
+    private List<Long> ids;
+    private Long total;
+}
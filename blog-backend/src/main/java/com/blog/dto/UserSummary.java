@@ -0,0 +1,25 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 列表和详情中展示的作者信息，不含密码、邮箱等字段
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String username;
+
+    private String nickname;
+
+    private String avatar;
+}
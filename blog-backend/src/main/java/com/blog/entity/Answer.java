@@ -1,6 +1,7 @@
 package com.blog.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.blog.dto.UserSummary;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -31,5 +32,5 @@ public class Answer implements Serializable {
     private LocalDateTime updateTime;
 
     @TableField(exist = false)
-    private User user;
+    private UserSummary user;
 }
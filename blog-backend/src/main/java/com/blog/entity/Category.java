@@ -21,4 +21,7 @@ public class Category implements Serializable {
 
     @TableField(fill = FieldFill.INSERT_UPDATE)
     private LocalDateTime updateTime;
+
+    @TableField(exist = false)
+    private Long noteCount;
 }
@@ -1,6 +1,7 @@
 package com.blog.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.blog.dto.UserSummary;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -22,6 +23,10 @@ public class Note implements Serializable {
 
     private String summary;
 
+    private String excerpt;
+
+    private Integer readingMinutes;
+
     private Long categoryId;
 
     private Integer viewCount;
@@ -37,7 +42,7 @@ public class Note implements Serializable {
     private LocalDateTime updateTime;
 
     @TableField(exist = false)
-    private User user;
+    private UserSummary user;
 
     @TableField(exist = false)
     private Category category;
@@ -1,6 +1,7 @@
 package com.blog.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.blog.dto.UserSummary;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -24,6 +25,8 @@ public class Question implements Serializable {
 
     private Integer answerCount;
 
+    private Long acceptedAnswerId;
+
     private Integer status;
 
     @TableField(fill = FieldFill.INSERT)
@@ -33,7 +36,7 @@ public class Question implements Serializable {
     private LocalDateTime updateTime;
 
     @TableField(exist = false)
-    private User user;
+    private UserSummary user;
 
     @TableField(exist = false)
     private java.util.List<Answer> answers;
@@ -0,0 +1,12 @@
+package com.blog.exception;
+
+/**
+ * 单个请求执行的 SQL 超出配置的预算，仅在 blog.query-budget.fail-on-exceed=true 时抛出
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
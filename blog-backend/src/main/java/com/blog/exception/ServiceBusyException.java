@@ -0,0 +1,12 @@
+package com.blog.exception;
+
+/**
+ * 服务过载时抛出，统一以 HTTP 503 返回
+ */
+public class ServiceBusyException extends BusinessException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceBusyException(String message) {
+        super(503, message);
+    }
+}
@@ -3,7 +3,12 @@ package com.blog.mapper;
 import com.blog.entity.Answer;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Map;
 
 @Mapper
 public interface AnswerMapper extends BaseMapper<Answer> {
+
+    int batchIncrementLikeCount(@Param("deltas") Map<Long, Long> deltas);
 }
@@ -3,7 +3,17 @@ package com.blog.mapper;
 import com.blog.entity.Category;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 @Mapper
 public interface CategoryMapper extends BaseMapper<Category> {
+
+    /**
+     * 各分类已发布笔记数，结果只填充 id 和 noteCount
+     */
+    @Select("SELECT category_id AS id, COUNT(*) AS note_count FROM note " +
+            "WHERE status = 1 AND category_id IS NOT NULL GROUP BY category_id")
+    List<Category> selectNoteCounts();
 }
@@ -1,17 +1,45 @@
 package com.blog.mapper;
 
+import com.blog.common.Cursor;
+import com.blog.dto.NoteListItem;
 import com.blog.entity.Note;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 @Mapper
 public interface NoteMapper extends BaseMapper<Note> {
-    IPage<Note> selectNotePage(Page<Note> page, @Param("categoryId") Long categoryId, @Param("keyword") String keyword);
+    /**
+     * 列表分页，只查摘要列；status 为空时排除已删除
+     */
+    IPage<NoteListItem> selectNoteListPage(IPage<NoteListItem> page,
+                                           @Param("categoryId") Long categoryId,
+                                           @Param("userId") Long userId,
+                                           @Param("status") Integer status);
+
+    List<NoteListItem> selectNoteFeed(@Param("categoryId") Long categoryId,
+                                      @Param("cursor") Cursor cursor,
+                                      @Param("limit") int limit);
 
-    @Update("UPDATE note SET view_count = view_count + 1 WHERE id = #{id}")
+    List<NoteListItem> selectNoteListByIds(@Param("ids") Collection<Long> ids);
+
+    @Update("UPDATE note SET view_count = view_count + 1, update_time = update_time WHERE id = #{id}")
     void incrementViewCount(@Param("id") Long id);
+
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+
+    int batchIncrementLikeCount(@Param("deltas") Map<Long, Long> deltas);
+
+    @Select("SELECT id, category_id, content FROM note WHERE excerpt IS NULL AND id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Note> selectWithoutExcerpt(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Update("UPDATE note SET excerpt = #{excerpt}, reading_minutes = #{readingMinutes} WHERE id = #{id}")
+    int updateExcerpt(@Param("id") Long id, @Param("excerpt") String excerpt, @Param("readingMinutes") int readingMinutes);
 }
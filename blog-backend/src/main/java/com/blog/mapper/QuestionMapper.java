@@ -1,17 +1,48 @@
 package com.blog.mapper;
 
+import com.blog.common.Cursor;
+import com.blog.dto.QuestionListItem;
 import com.blog.entity.Question;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 @Mapper
 public interface QuestionMapper extends BaseMapper<Question> {
-    IPage<Question> selectQuestionPage(Page<Question> page, @Param("keyword") String keyword);
+    /**
+     * 列表分页，只查摘要列；status 为空时排除已删除
+     */
+    IPage<QuestionListItem> selectQuestionListPage(IPage<QuestionListItem> page,
+                                                   @Param("userId") Long userId,
+                                                   @Param("status") Integer status);
+
+    List<QuestionListItem> selectQuestionFeed(@Param("cursor") Cursor cursor, @Param("limit") int limit);
 
-    @Update("UPDATE question SET view_count = view_count + 1 WHERE id = #{id}")
+    List<QuestionListItem> selectQuestionListByIds(@Param("ids") Collection<Long> ids);
+
+    @Update("UPDATE question SET view_count = view_count + 1, update_time = update_time WHERE id = #{id}")
     void incrementViewCount(@Param("id") Long id);
+
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+
+    @Update("UPDATE question SET answer_count = answer_count + 1, update_time = update_time WHERE id = #{id}")
+    int incrementAnswerCount(@Param("id") Long id);
+
+    @Update("UPDATE question SET answer_count = GREATEST(answer_count - 1, 0), update_time = update_time WHERE id = #{id}")
+    int decrementAnswerCount(@Param("id") Long id);
+
+    @Select("SELECT MAX(id) FROM question")
+    Long selectMaxId();
+
+    /**
+     * 按 answer 表重算 [fromId, toId) 区间内问题的回答数，返回被修正的行数
+     */
+    int reconcileAnswerCount(@Param("fromId") long fromId, @Param("toId") long toId);
 }
@@ -0,0 +1,41 @@
+package com.blog.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "blog.query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * 每个请求允许执行的 SQL 条数，routes 中未列出的路由使用该值
+     */
+    private int maxQueries = 20;
+
+    /**
+     * 按路由覆盖预算，key 形如 "GET /api/notes/{id}"
+     */
+    private Map<String, Integer> routes = new HashMap<>();
+
+    /**
+     * 同一条 SQL 以至少这么多组不同参数执行时判定为 N+1
+     */
+    private int repeatThreshold = 5;
+
+    /**
+     * 超出预算时让请求失败，用于测试；生产环境只记录指标和日志
+     */
+    private boolean failOnExceed = false;
+
+    /**
+     * 在响应头中返回本次请求的 SQL 统计，仅用于开发环境
+     */
+    private boolean headers = false;
+
+    public int budgetFor(String method, String route) {
+        return routes.getOrDefault(method + " " + route, maxQueries);
+    }
+}
@@ -0,0 +1,111 @@
+package com.blog.metrics;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统计每条 SQL 的执行耗时，并计入当前请求的查询数、耗时与参数指纹；慢 SQL 与抽样 SQL 交给 SqlLogger 记录。
+ * 拦截 StatementHandler 而不是 Executor，分页插件生成的 COUNT 语句同样会被统计。
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class QueryMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlLogger sqlLogger;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryMetricsInterceptor(MeterRegistry meterRegistry, SqlLogger sqlLogger) {
+        this.meterRegistry = meterRegistry;
+        this.sqlLogger = sqlLogger;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler((StatementHandler) invocation.getTarget());
+        MappedStatement statement = handler.mappedStatement();
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.beforeQuery(statement.getId());
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer(statement).record(elapsed, TimeUnit.NANOSECONDS);
+            if (sqlLogger.shouldLog(elapsed)) {
+                sqlLogger.log(shortName(statement.getId()), handler.boundSql().getSql(), elapsed);
+            }
+            if (stats != null) {
+                BoundSql boundSql = handler.boundSql();
+                stats.record(boundSql.getSql(), shortName(statement.getId()),
+                        parameterFingerprint(handler.configuration(), boundSql), elapsed);
+            }
+        }
+    }
+
+    private Timer timer(MappedStatement statement) {
+        return timers.computeIfAbsent(statement.getId(), id -> Timer.builder("blog.db.statement")
+                .tag("statement", shortName(id))
+                .tag("type", statement.getSqlCommandType().name().toLowerCase())
+                .register(meterRegistry));
+    }
+
+    /**
+     * 按 DefaultParameterHandler 的取值规则取出绑定参数并计算哈希，用于区分同一条 SQL 的不同参数
+     */
+    private static int parameterFingerprint(Configuration configuration, BoundSql boundSql) {
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        int hash = 1;
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+            hash = 31 * hash + Objects.hashCode(value);
+        }
+        return hash;
+    }
+
+    /**
+     * com.blog.mapper.NoteMapper.selectById -> NoteMapper.selectById
+     */
+    private static String shortName(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return id.substring(type + 1);
+    }
+}
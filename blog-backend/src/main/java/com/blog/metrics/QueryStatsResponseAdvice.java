@@ -0,0 +1,56 @@
+package com.blog.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 开发环境下把本次请求的 SQL 统计写入响应头。
+ * 响应体写出前头部还未提交，因此在这里而不是请求结束后设置。
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "blog.query-budget", name = "headers", havingValue = "true")
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryBudgetProperties properties;
+
+    public QueryStatsResponseAdvice(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return body;
+        }
+        HttpHeaders headers = response.getHeaders();
+        headers.set("X-Query-Count", String.valueOf(stats.getQueries()));
+        headers.set("X-Query-Time-Ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getNanos())));
+        headers.set("X-Query-Budget", String.valueOf(stats.getBudget()));
+        List<RequestQueryStats.RepeatedStatement> repeated = stats.repeatedStatements(properties.getRepeatThreshold());
+        if (!repeated.isEmpty()) {
+            headers.set("X-Query-Repeated", repeated.stream()
+                    .map(statement -> statement.statement() + "*" + statement.executions())
+                    .collect(Collectors.joining(", ")));
+        }
+        return body;
+    }
+}
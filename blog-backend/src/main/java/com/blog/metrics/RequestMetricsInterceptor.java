@@ -0,0 +1,116 @@
+package com.blog.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按路由记录每个请求执行的 SQL 条数与累计耗时，并检查查询预算和 N+1。
+ * 异步请求 (登录/注册) 的查询在其它线程执行，不计入。
+ */
+@Slf4j
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties properties;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> repeatedCounters = new ConcurrentHashMap<>();
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, QueryBudgetProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            String method = request.getMethod();
+            String route = route(request);
+            RequestQueryStats.start(method + " " + route, properties.budgetFor(method, route),
+                    properties.isFailOnExceed());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        RequestQueryStats.clear();
+
+        String method = request.getMethod();
+        String route = route(request);
+        RouteMeters meters = routeMeters.computeIfAbsent(method + " " + route, key -> new RouteMeters(method, route));
+        meters.queries.record(stats.getQueries());
+        meters.time.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.isOverBudget()) {
+            meters.overBudget.increment();
+            log.warn("{} {} 执行了 {} 条 SQL，超出预算 {}", method, route, stats.getQueries(), stats.getBudget());
+        }
+        List<RequestQueryStats.RepeatedStatement> repeated = stats.repeatedStatements(properties.getRepeatThreshold());
+        for (RequestQueryStats.RepeatedStatement statement : repeated) {
+            repeatedCounter(method, route, statement.statement()).increment();
+            log.warn("疑似 N+1: {} {} 中 {} 执行 {} 次 ({} 组不同参数)", method, route,
+                    statement.statement(), statement.executions(), statement.distinctParameters());
+        }
+    }
+
+    private Counter repeatedCounter(String method, String route, String statement) {
+        return repeatedCounters.computeIfAbsent(method + " " + route + " " + statement,
+                key -> Counter.builder("blog.http.db.repeated")
+                        .tag("method", method)
+                        .tag("uri", route)
+                        .tag("statement", statement)
+                        .register(meterRegistry));
+    }
+
+    static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private final class RouteMeters {
+        private final DistributionSummary queries;
+        private final Timer time;
+        private final Counter overBudget;
+
+        private RouteMeters(String method, String route) {
+            this.queries = DistributionSummary.builder("blog.http.db.queries")
+                    .baseUnit("queries")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(100.0)
+                    .register(meterRegistry);
+            this.time = Timer.builder("blog.http.db.time")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry);
+            this.overBudget = Counter.builder("blog.http.db.budget.exceeded")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry);
+        }
+    }
+}
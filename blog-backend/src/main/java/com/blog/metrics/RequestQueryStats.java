@@ -0,0 +1,119 @@
+package com.blog.metrics;
+
+import com.blog.exception.QueryBudgetExceededException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 当前 HTTP 请求内执行的 SQL 统计，绑定在处理请求的线程上。
+ * 不在请求内的 SQL (定时任务、异步线程) 没有对应的统计对象。
+ */
+public final class RequestQueryStats {
+
+    /**
+     * 每条 SQL 最多记录的不同参数组数，足够判断 N+1
+     */
+    private static final int MAX_FINGERPRINTS = 256;
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String route;
+    private final int budget;
+    private final boolean failOnExceed;
+
+    private int queries;
+    private long nanos;
+
+    /**
+     * SQL 文本 -> 执行情况
+     */
+    private final Map<String, StatementStats> statements = new HashMap<>();
+
+    private RequestQueryStats(String route, int budget, boolean failOnExceed) {
+        this.route = route;
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    public static RequestQueryStats start(String route, int budget, boolean failOnExceed) {
+        RequestQueryStats stats = new RequestQueryStats(route, budget, failOnExceed);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void beforeQuery(String statementId) {
+        if (failOnExceed && queries >= budget) {
+            throw new QueryBudgetExceededException(
+                    route + " 超出 SQL 预算 " + budget + " 条，第 " + (queries + 1) + " 条为 " + statementId);
+        }
+    }
+
+    void record(String sql, String statementId, int parameterFingerprint, long elapsedNanos) {
+        queries++;
+        nanos += elapsedNanos;
+        statements.computeIfAbsent(sql, k -> new StatementStats(statementId)).record(parameterFingerprint);
+    }
+
+    public int getQueries() {
+        return queries;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public boolean isOverBudget() {
+        return queries > budget;
+    }
+
+    /**
+     * 以至少 threshold 组不同参数重复执行的 SQL，按执行次数降序
+     */
+    public List<RepeatedStatement> repeatedStatements(int threshold) {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        for (StatementStats stats : statements.values()) {
+            if (stats.fingerprints.size() >= threshold) {
+                repeated.add(new RepeatedStatement(stats.statementId, stats.executions, stats.fingerprints.size()));
+            }
+        }
+        repeated.sort((a, b) -> Integer.compare(b.executions(), a.executions()));
+        return repeated;
+    }
+
+    public record RepeatedStatement(String statement, int executions, int distinctParameters) {
+    }
+
+    private static final class StatementStats {
+        private final String statementId;
+        private final Set<Integer> fingerprints = new HashSet<>();
+        private int executions;
+
+        private StatementStats(String statementId) {
+            this.statementId = statementId;
+        }
+
+        private void record(int parameterFingerprint) {
+            executions++;
+            if (fingerprints.size() < MAX_FINGERPRINTS) {
+                fingerprints.add(parameterFingerprint);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "blog.sql-log")
+public class SqlLogProperties {
+
+    /**
+     * 超过该耗时的 SQL 一律以 WARN 记录
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * 未超时的 SQL 按该比例抽样以 INFO 记录，0 表示不记录
+     */
+    private double sampleRate = 0;
+
+    /**
+     * 日志中 SQL 文本的最大长度，超出部分截断
+     */
+    private int maxSqlLength = 1000;
+}
@@ -0,0 +1,68 @@
+package com.blog.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 替代 MyBatis 逐条打印 SQL: 慢 SQL 全部记录，其余按比例抽样。
+ * 只记录带占位符的 SQL 文本，不记录参数值和结果行。
+ * 日志名固定为 com.blog.sql，可单独调整级别
+ */
+@Slf4j(topic = "com.blog.sql")
+public class SqlLogger {
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxSqlLength;
+
+    public SqlLogger(SqlLogProperties properties) {
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.sampleRate = properties.getSampleRate();
+        this.maxSqlLength = properties.getMaxSqlLength();
+    }
+
+    /**
+     * 判断本次执行是否需要记录，不需要时调用方无需取出 SQL 文本
+     */
+    public boolean shouldLog(long elapsedNanos) {
+        if (elapsedNanos >= slowThresholdNanos) {
+            return log.isWarnEnabled();
+        }
+        return sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void log(String statement, String sql, long elapsedNanos) {
+        double millis = Math.round(elapsedNanos / 100_000.0) / 10.0;
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("慢 SQL {} 耗时 {} ms: {}", statement, millis, compact(sql));
+        } else {
+            log.info("SQL {} 耗时 {} ms: {}", statement, millis, compact(sql));
+        }
+    }
+
+    /**
+     * 合并 XML 映射带来的换行和缩进，并按长度截断
+     */
+    private String compact(String sql) {
+        StringBuilder sb = new StringBuilder(Math.min(sql.length(), maxSqlLength));
+        boolean space = false;
+        int i = 0;
+        for (; i < sql.length() && sb.length() < maxSqlLength; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            sb.append(c);
+        }
+        if (i < sql.length()) {
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+}
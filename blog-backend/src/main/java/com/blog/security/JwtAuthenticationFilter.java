@@ -28,22 +28,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         
         String token = extractToken(request);
+        JwtPrincipal principal = StringUtils.hasText(token) ? jwtUtils.parseToken(token) : null;
         
-        if (StringUtils.hasText(token) && jwtUtils.validateToken(token)) {
-            Long userId = jwtUtils.getUserIdFromToken(token);
-            String username = jwtUtils.getUsernameFromToken(token);
-            String role = jwtUtils.getRoleFromToken(token);
-            
+        if (principal != null) {
             UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(
-                            userId,
+                            principal.getUserId(),
                             null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.getRole()))
                     );
             
-            authentication.setDetails(username);
+            authentication.setDetails(principal.getUsername());
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            log.debug("用户 {} 已认证，角色: {}", username, role);
+            log.debug("用户 {} 已认证，角色: {}", principal.getUsername(), principal.getRole());
         }
         
         filterChain.doFilter(request, response);
@@ -0,0 +1,19 @@
+package com.blog.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal {
+
+    private final Long userId;
+
+    private final String username;
+
+    private final String role;
+
+    private final Instant expiresAt;
+}
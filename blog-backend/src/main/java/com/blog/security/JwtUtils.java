@@ -1,7 +1,12 @@
 package com.blog.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,7 +14,13 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -21,11 +32,56 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
     private SecretKey key;
 
+    private JwtParser parser;
+
+    /**
+     * token 摘要 -> 已验证的身份信息，条目在 token 的 exp 时刻过期
+     */
+    private Cache<String, JwtPrincipal> principalCache;
+
+    /**
+     * 按结果区分: cached 命中身份缓存，verified 完整验签，invalid 验证失败
+     */
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
+
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.cachedTimer = parseTimer("cached", meterRegistry);
+        this.verifiedTimer = parseTimer("verified", meterRegistry);
+        this.invalidTimer = parseTimer("invalid", meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String digest, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0L, Duration.between(Instant.now(), principal.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(Long userId, String username, String role) {
@@ -42,47 +98,73 @@ public class JwtUtils {
                 .compact();
     }
 
+    /**
+     * 验证签名并一次性取出全部身份信息；无效 token 返回 null。
+     */
+    public JwtPrincipal parseToken(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        JwtPrincipal cached = principalCache.getIfPresent(digest);
+        if (cached != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            JwtPrincipal principal = new JwtPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("username", String.class),
+                    claims.get("role", String.class),
+                    claims.getExpiration().toInstant()
+            );
+            principalCache.put(digest, principal);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("JWT token验证失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return Long.parseLong(claims.getSubject());
+        return requirePrincipal(token).getUserId();
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("username", String.class);
+        return requirePrincipal(token).getUsername();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+        return requirePrincipal(token).getRole();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("JWT token验证失败: {}", e.getMessage());
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     public Long getExpiration() {
         return expiration;
     }
+
+    private JwtPrincipal requirePrincipal(String token) {
+        JwtPrincipal principal = parseToken(token);
+        if (principal == null) {
+            throw new JwtException("无效的 JWT token");
+        }
+        return principal;
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timer parseTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder("blog.jwt.parse").tag("result", result).register(meterRegistry);
+    }
 }
@@ -0,0 +1,83 @@
+package com.blog.security;
+
+import com.blog.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 在独立的有界线程池中执行 BCrypt 计算，避免登录高峰占满 Tomcat 工作线程。
+ * 队列满时立即拒绝，由调用方返回 503。
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${blog.security.password-hashing.threads:0}") int threads,
+                          @Value("${blog.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("blog.password.hash").tag("operation", "encode")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.matchTimer = Timer.builder("blog.password.hash").tag("operation", "matches")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.rejectedCounter = Counter.builder("blog.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("blog.password.hash.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("blog.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("密码计算队列已满，拒绝请求");
+            throw new ServiceBusyException("服务繁忙，请稍后重试");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -16,7 +16,7 @@ public interface AnswerService extends IService<Answer> {
     
     void deleteAnswer(Long userId, Long id);
     
-    void likeAnswer(Long id);
+    boolean likeAnswer(Long userId, Long id);
     
     void acceptAnswer(Long questionOwnerId, Long answerId);
 }
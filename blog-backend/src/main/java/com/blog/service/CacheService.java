@@ -1,46 +1,27 @@
 package com.blog.service;
 
+import com.blog.dto.NoteListItem;
+import com.blog.dto.QuestionListItem;
 import com.blog.entity.Note;
 import com.blog.entity.Question;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.transaction.annotation.Transactional;
 
-public interface CacheService {
-
-    @Cacheable(value = "notes", key = "'page:' + #page + ':' + #pageSize + ':' + #categoryId + ':' + #keyword")
-    IPage<Note> getNotePage(Page<Note> page, Long categoryId, String keyword);
+import java.util.function.Supplier;
 
-    @Cacheable(value = "notes", key = "#id")
-    Note getNoteById(Long id);
-
-    @CacheEvict(value = "notes", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    Note createNote(Long userId, Object form);
+public interface CacheService {
 
-    @CacheEvict(value = "notes", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    Note updateNote(Long userId, Long id, Object form);
+    Note getNote(Long id, Supplier<Note> loader);
 
-    @CacheEvict(value = "notes", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    void deleteNote(Long userId, Long id);
+    IPage<NoteListItem> getNotePage(Page<NoteListItem> page, Long categoryId, Supplier<IPage<NoteListItem>> loader);
 
-    @Cacheable(value = "questions", key = "'page:' + #page + ':' + #pageSize + ':' + #keyword")
-    IPage<Question> getQuestionPage(Page<Question> page, String keyword);
+    void evictNote(Long id, Long... categoryIds);
 
-    @Cacheable(value = "questions", key = "#id")
-    Question getQuestionById(Long id);
+    Question getQuestion(Long id, Supplier<Question> loader);
 
-    @CacheEvict(value = "questions", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    Question createQuestion(Long userId, Object form);
+    IPage<QuestionListItem> getQuestionPage(Page<QuestionListItem> page, Supplier<IPage<QuestionListItem>> loader);
 
-    @CacheEvict(value = "questions", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    void deleteQuestion(Long userId, Long id);
+    void evictQuestion(Long id);
 
     void clearAllCaches();
 }
@@ -3,5 +3,26 @@ package com.blog.service;
 import com.blog.entity.Category;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface CategoryService extends IService<Category> {
+
+    /**
+     * 从内存快照返回全部分类（含已发布笔记数）
+     */
+    List<Category> listCategories();
+
+    Map<Long, Category> getCategories(Collection<Long> ids);
+
+    /**
+     * 重新加载本地快照
+     */
+    void refresh();
+
+    /**
+     * 分类变更后调用: 刷新本地快照并通知其他节点
+     */
+    void notifyChanged();
 }
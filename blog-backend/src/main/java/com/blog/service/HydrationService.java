@@ -0,0 +1,30 @@
+package com.blog.service;
+
+import com.blog.dto.NoteListItem;
+import com.blog.dto.QuestionListItem;
+import com.blog.dto.UserSummary;
+import com.blog.entity.Answer;
+import com.blog.entity.Category;
+import com.blog.entity.Note;
+import com.blog.entity.Question;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public interface HydrationService {
+
+    <T> void attachUsers(Collection<T> items, Function<T, Long> userIdGetter, BiConsumer<T, UserSummary> userSetter);
+
+    <T> void attachCategories(Collection<T> items, Function<T, Long> categoryIdGetter, BiConsumer<T, Category> categorySetter);
+
+    void hydrateNotes(Collection<Note> notes);
+
+    void hydrateQuestions(Collection<Question> questions);
+
+    void hydrateAnswers(Collection<Answer> answers);
+
+    void hydrateNoteList(Collection<NoteListItem> notes);
+
+    void hydrateQuestionList(Collection<QuestionListItem> questions);
+}
@@ -0,0 +1,20 @@
+package com.blog.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface LikeService {
+
+    boolean likeNote(Long userId, Long noteId);
+
+    boolean likeAnswer(Long userId, Long answerId);
+
+    /**
+     * 尚未写回数据库的点赞增量 (含正在写回的一批)，没有增量的 id 不在结果中
+     */
+    Map<Long, Long> pendingNoteLikes(Collection<Long> noteIds);
+
+    Map<Long, Long> pendingAnswerLikes(Collection<Long> answerIds);
+
+    void reconcile();
+}
@@ -0,0 +1,17 @@
+package com.blog.service;
+
+/**
+ * 笔记摘录与阅读时长的异步生成
+ */
+public interface NoteExcerptService {
+
+    /**
+     * 当前事务提交后异步生成；队列满时丢弃，由回填任务兜底
+     */
+    void scheduleGeneration(Long noteId);
+
+    /**
+     * 启动回填任务，已有任务在运行时返回 false
+     */
+    boolean startBackfill();
+}
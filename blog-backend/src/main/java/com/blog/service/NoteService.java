@@ -3,12 +3,18 @@ package com.blog.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.dto.CursorPage;
 import com.blog.dto.NoteForm;
+import com.blog.dto.NoteListItem;
 import com.blog.entity.Note;
 
+import java.util.List;
+
 public interface NoteService extends IService<Note> {
     
-    IPage<Note> getNotePage(Page<Note> page, Long categoryId, String keyword, Long userId);
+    IPage<NoteListItem> getNotePage(Page<NoteListItem> page, Long categoryId, String keyword, Long userId);
+    
+    CursorPage<NoteListItem> getNoteFeed(String after, Integer pageSize, Long categoryId);
     
     Note getNoteById(Long id);
     
@@ -20,7 +26,9 @@ public interface NoteService extends IService<Note> {
     
     void incrementViewCount(Long id);
     
-    void incrementLikeCount(Long id);
+    boolean likeNote(Long userId, Long id);
+
+    List<NoteListItem> getTrendingNotes(Integer limit);
     
-    IPage<Note> getMyNotes(Page<Note> page, Long userId);
+    IPage<NoteListItem> getMyNotes(Page<NoteListItem> page, Long userId);
 }
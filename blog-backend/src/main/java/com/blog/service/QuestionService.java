@@ -3,12 +3,18 @@ package com.blog.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.dto.CursorPage;
 import com.blog.dto.QuestionForm;
+import com.blog.dto.QuestionListItem;
 import com.blog.entity.Question;
 
+import java.util.List;
+
 public interface QuestionService extends IService<Question> {
     
-    IPage<Question> getQuestionPage(Page<Question> page, String keyword, Long userId);
+    IPage<QuestionListItem> getQuestionPage(Page<QuestionListItem> page, String keyword, Long userId);
+    
+    CursorPage<QuestionListItem> getQuestionFeed(String after, Integer pageSize);
     
     Question getQuestionById(Long id);
     
@@ -19,6 +25,13 @@ public interface QuestionService extends IService<Question> {
     void deleteQuestion(Long userId, Long id);
     
     void incrementViewCount(Long id);
+
+    List<QuestionListItem> getTrendingQuestions(Integer limit);
     
-    IPage<Question> getMyQuestions(Page<Question> page, Long userId);
+    IPage<QuestionListItem> getMyQuestions(Page<QuestionListItem> page, Long userId);
+
+    /**
+     * 按 answer 表重算回答数，修正计数漂移
+     */
+    void reconcileAnswerCounts();
 }
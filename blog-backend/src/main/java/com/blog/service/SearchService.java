@@ -0,0 +1,16 @@
+package com.blog.service;
+
+import com.blog.dto.SearchResult;
+
+public interface SearchService {
+
+    SearchResult searchNotes(String keyword, Long categoryId, Long userId, long page, long pageSize);
+
+    SearchResult searchQuestions(String keyword, Long userId, long page, long pageSize);
+
+    void onNoteChanged(Long noteId);
+
+    void onQuestionChanged(Long questionId);
+
+    void rebuild();
+}
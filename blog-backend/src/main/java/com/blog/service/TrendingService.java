@@ -0,0 +1,30 @@
+package com.blog.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热榜: 按小时分桶累计互动分数，定期按时间衰减合并为快照
+ */
+public interface TrendingService {
+
+    void recordNoteViews(Map<Long, Long> deltas);
+
+    void recordNoteLike(Long noteId);
+
+    void recordQuestionViews(Map<Long, Long> deltas);
+
+    void recordAnswer(Long questionId);
+
+    /**
+     * 热度最高的笔记 ID，按分数降序
+     */
+    List<Long> topNoteIds(int limit);
+
+    List<Long> topQuestionIds(int limit);
+
+    /**
+     * 重新合并快照
+     */
+    void refresh();
+}
@@ -0,0 +1,21 @@
+package com.blog.service;
+
+/**
+ * 用户名/邮箱存在性预判。返回 false 表示一定不存在，返回 true 需回查数据库。
+ */
+public interface UserExistenceFilter {
+
+    boolean mightContainUsername(String username);
+
+    boolean mightContainEmail(String email);
+
+    /**
+     * 注册成功后登记，并通知其他节点
+     */
+    void add(String username, String email);
+
+    /**
+     * 从 sys_user 全量重建
+     */
+    void rebuild();
+}
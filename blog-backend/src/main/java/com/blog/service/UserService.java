@@ -1,16 +1,32 @@
 package com.blog.service;
 
+import com.blog.dto.UserSummary;
 import com.blog.entity.User;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.blog.exception.BusinessException;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public interface UserService extends IService<User> {
     
-    User register(String username, String password, String nickname, String email);
-    
-    User login(String username, String password);
+    /**
+     * 注册，密码哈希在独立线程池中完成
+     */
+    CompletableFuture<User> register(String username, String password, String nickname, String email);
+
+    /**
+     * 登录，密码校验在独立线程池中完成
+     */
+    CompletableFuture<User> login(String username, String password);
     
     User getUserInfo(Long userId);
+
+    /**
+     * 批量获取作者信息，走本地缓存，同一用户的并发未命中只查询一次
+     */
+    Map<Long, UserSummary> getUserSummaries(Collection<Long> userIds);
     
     void updateUserInfo(User user);
     
@@ -0,0 +1,14 @@
+package com.blog.service;
+
+public interface ViewCountService {
+
+    void recordNoteView(Long noteId);
+
+    void recordQuestionView(Long questionId);
+
+    long pendingNoteViews(Long noteId);
+
+    long pendingQuestionViews(Long questionId);
+
+    void flush();
+}
@@ -1,30 +1,41 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.common.AfterCommit;
+import com.blog.common.OwnershipCheck;
 import com.blog.dto.AnswerForm;
 import com.blog.entity.Answer;
 import com.blog.entity.Question;
-import com.blog.entity.User;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.AnswerMapper;
+import com.blog.mapper.QuestionMapper;
 import com.blog.service.AnswerService;
+import com.blog.service.CacheService;
+import com.blog.service.HydrationService;
+import com.blog.service.LikeService;
 import com.blog.service.QuestionService;
-import com.blog.service.UserService;
+import com.blog.service.TrendingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnswerServiceImpl extends ServiceImpl<AnswerMapper, Answer> implements AnswerService {
 
-    private final UserService userService;
+    private final HydrationService hydrationService;
     private final QuestionService questionService;
+    private final QuestionMapper questionMapper;
+    private final LikeService likeService;
+    private final CacheService cacheService;
+    private final TrendingService trendingService;
 
     @Override
     public List<Answer> getAnswersByQuestionId(Long questionId) {
@@ -35,13 +46,16 @@ public class AnswerServiceImpl extends ServiceImpl<AnswerMapper, Answer> impleme
         wrapper.orderByAsc(Answer::getCreateTime);
         
         List<Answer> answers = list(wrapper);
-        
-        answers.forEach(answer -> {
-            User user = userService.getById(answer.getUserId());
-            if (user != null) {
-                answer.setUser(user);
-            }
-        });
+        hydrationService.hydrateAnswers(answers);
+        if (!answers.isEmpty()) {
+            Map<Long, Long> pendingLikes = likeService.pendingAnswerLikes(answers.stream().map(Answer::getId).toList());
+            answers.forEach(answer -> {
+                long pending = pendingLikes.getOrDefault(answer.getId(), 0L);
+                if (pending != 0) {
+                    answer.setLikeCount((answer.getLikeCount() == null ? 0 : answer.getLikeCount()) + (int) pending);
+                }
+            });
+        }
         
         return answers;
     }
@@ -49,7 +63,9 @@ public class AnswerServiceImpl extends ServiceImpl<AnswerMapper, Answer> impleme
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Answer createAnswer(Long userId, Long questionId, AnswerForm form) {
-        Question question = questionService.getById(questionId);
+        Question question = questionService.getOne(new LambdaQueryWrapper<Question>()
+                .select(Question::getId, Question::getStatus)
+                .eq(Question::getId, questionId));
         if (question == null || question.getStatus() == 3) {
             throw new BusinessException("问题不存在");
         }
@@ -61,10 +77,10 @@ public class AnswerServiceImpl extends ServiceImpl<AnswerMapper, Answer> impleme
         answer.setLikeCount(0);
         answer.setIsAccepted(0);
         
+        // 先加计数锁住问题行，避免插入回答时外键共享锁升级导致死锁
+        questionMapper.incrementAnswerCount(questionId);
         save(answer);
-        
-        question.setAnswerCount(question.getAnswerCount() + 1);
-        questionService.updateById(question);
+        AfterCommit.run(() -> trendingService.recordAnswer(questionId));
         
         log.info("用户 {} 回答问题: {}", userId, questionId);
         
@@ -74,17 +90,23 @@ public class AnswerServiceImpl extends ServiceImpl<AnswerMapper, Answer> impleme
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Answer updateAnswer(Long userId, Long id, AnswerForm form) {
-        Answer answer = getById(id);
-        if (answer == null) {
-            throw new BusinessException("回答不存在");
-        }
-        if (!answer.getUserId().equals(userId)) {
-            throw new BusinessException("无权限修改此回答");
+        // 归属校验并入 UPDATE，成功时只有一次往返；失败时才回读以区分不存在与无权限
+        boolean updated = update(new LambdaUpdateWrapper<Answer>()
+                .set(Answer::getContent, form.getContent())
+                .eq(Answer::getId, id)
+                .eq(Answer::getUserId, userId));
+        if (!updated) {
+            Answer existing = getOne(new LambdaQueryWrapper<Answer>()
+                    .select(Answer::getId, Answer::getUserId)
+                    .eq(Answer::getId, id));
+            OwnershipCheck.throwUpdateFailure(existing == null ? null : existing.getUserId(), userId,
+                    "回答不存在", "无权限修改此回答");
         }
         
+        Answer answer = new Answer();
+        answer.setId(id);
+        answer.setUserId(userId);
         answer.setContent(form.getContent());
-        updateById(answer);
-        
         log.info("用户 {} 更新回答: {}", userId, id);
         
         return answer;
@@ -93,60 +115,69 @@ public class AnswerServiceImpl extends ServiceImpl<AnswerMapper, Answer> impleme
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteAnswer(Long userId, Long id) {
-        Answer answer = getById(id);
-        if (answer == null) {
-            throw new BusinessException("回答不存在");
-        }
-        if (!answer.getUserId().equals(userId)) {
-            throw new BusinessException("无权限删除此回答");
+        Answer answer = getOne(new LambdaQueryWrapper<Answer>()
+                .select(Answer::getId, Answer::getUserId, Answer::getQuestionId, Answer::getIsAccepted)
+                .eq(Answer::getId, id));
+        boolean removed = answer != null && remove(new LambdaQueryWrapper<Answer>()
+                .eq(Answer::getId, id)
+                .eq(Answer::getUserId, userId));
+        if (!removed) {
+            OwnershipCheck.throwUpdateFailure(answer == null ? null : answer.getUserId(), userId,
+                    "回答不存在", "无权限删除此回答");
         }
         
-        Question question = questionService.getById(answer.getQuestionId());
-        if (question != null) {
-            question.setAnswerCount(Math.max(0, question.getAnswerCount() - 1));
-            questionService.updateById(question);
+        questionMapper.decrementAnswerCount(answer.getQuestionId());
+        if (answer.getIsAccepted() != null && answer.getIsAccepted() == 1) {
+            questionService.update(new LambdaUpdateWrapper<Question>()
+                    .set(Question::getAcceptedAnswerId, null)
+                    .eq(Question::getId, answer.getQuestionId())
+                    .eq(Question::getAcceptedAnswerId, id));
         }
-        
-        removeById(id);
+        cacheService.evictQuestion(answer.getQuestionId());
         log.info("用户 {} 删除回答: {}", userId, id);
     }
 
     @Override
-    public void likeAnswer(Long id) {
-        Answer answer = getById(id);
-        if (answer != null) {
-            answer.setLikeCount(answer.getLikeCount() + 1);
-            updateById(answer);
-        }
+    public boolean likeAnswer(Long userId, Long id) {
+        return likeService.likeAnswer(userId, id);
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void acceptAnswer(Long questionOwnerId, Long answerId) {
-        Answer answer = getById(answerId);
+        Answer answer = getOne(new LambdaQueryWrapper<Answer>()
+                .select(Answer::getId, Answer::getQuestionId)
+                .eq(Answer::getId, answerId));
         if (answer == null) {
             throw new BusinessException("回答不存在");
         }
         
-        Question question = questionService.getById(answer.getQuestionId());
+        Long questionId = answer.getQuestionId();
+        Question question = questionService.getOne(new LambdaQueryWrapper<Question>()
+                .select(Question::getId, Question::getUserId, Question::getAcceptedAnswerId)
+                .eq(Question::getId, questionId));
         if (question == null) {
             throw new BusinessException("问题不存在");
         }
         if (!question.getUserId().equals(questionOwnerId)) {
             throw new BusinessException("无权限采纳此回答");
         }
+        if (answerId.equals(question.getAcceptedAnswerId())) {
+            return;
+        }
         
-        LambdaQueryWrapper<Answer> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Answer::getQuestionId, answer.getQuestionId());
-        List<Answer> answers = list(wrapper);
-        
-        answers.forEach(a -> {
-            a.setIsAccepted(0);
-            updateById(a);
-        });
-        
-        answer.setIsAccepted(1);
-        updateById(answer);
+        // 先更新问题行，同一问题的并发采纳在此行锁上串行
+        questionService.update(new LambdaUpdateWrapper<Question>()
+                .set(Question::getAcceptedAnswerId, answerId)
+                .eq(Question::getId, questionId));
+        update(new LambdaUpdateWrapper<Answer>()
+                .set(Answer::getIsAccepted, 0)
+                .eq(Answer::getQuestionId, questionId)
+                .eq(Answer::getIsAccepted, 1));
+        update(new LambdaUpdateWrapper<Answer>()
+                .set(Answer::getIsAccepted, 1)
+                .eq(Answer::getId, answerId));
+        cacheService.evictQuestion(questionId);
         
         log.info("用户 {} 采纳回答: {}", questionOwnerId, answerId);
     }
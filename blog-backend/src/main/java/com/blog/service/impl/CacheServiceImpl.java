@@ -1,93 +1,215 @@
 package com.blog.service.impl;
 
+import cn.hutool.core.bean.BeanUtil;
+import com.blog.cache.CachedPage;
+import com.blog.common.AfterCommit;
+import com.blog.dto.NoteListItem;
+import com.blog.dto.QuestionListItem;
 import com.blog.entity.Note;
 import com.blog.entity.Question;
-import com.blog.mapper.NoteMapper;
-import com.blog.mapper.QuestionMapper;
 import com.blog.service.CacheService;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 笔记/问题的读穿透缓存。缓存值中不保存浏览量、点赞数等易变计数，
+ * 计数由调用方在读取后补齐，因此一次浏览不会使任何缓存失效。
+ * 分页缓存按分类建立 key 索引，写操作只失效受影响的详情和对应分类的分页。
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CacheServiceImpl implements CacheService {
 
-    private final NoteMapper noteMapper;
-    private final QuestionMapper questionMapper;
+    private static final String NOTES = "notes";
+    private static final String QUESTIONS = "questions";
+    private static final String ALL = "all";
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${blog.cache.max-cached-page:5}")
+    private long maxCachedPage;
+
+    /**
+     * 只缓存前端使用的每页条数，任意 pageSize 不能制造无限多的缓存项与索引成员
+     */
+    @Value("${blog.cache.cached-page-sizes:10}")
+    private Set<Long> cachedPageSizes;
 
     @Override
-    @Cacheable(value = "notes", key = "'page:' + #page + ':' + #pageSize + ':' + #categoryId + ':' + #keyword", unless = "#result == null")
-    public IPage<Note> getNotePage(Page<Note> page, Long categoryId, String keyword) {
-        return noteMapper.selectNotePage(page, categoryId, keyword);
+    public Note getNote(Long id, Supplier<Note> loader) {
+        Note cached = load(NOTES, "detail:" + id, () -> withoutCounters(loader.get()));
+        return copy(cached);
     }
 
     @Override
-    @Cacheable(value = "notes", key = "#id", unless = "#result == null")
-    public Note getNoteById(Long id) {
-        Note note = noteMapper.selectById(id);
-        if (note != null) {
-            noteMapper.incrementViewCount(id);
+    public IPage<NoteListItem> getNotePage(Page<NoteListItem> page, Long categoryId, Supplier<IPage<NoteListItem>> loader) {
+        if (!isCacheable(page)) {
+            return loader.get();
         }
-        return note;
+        String scope = categoryId == null ? ALL : String.valueOf(categoryId);
+        CachedPage<NoteListItem> cached = loadPage(NOTES, scope, page,
+                () -> CachedPage.of(loader.get(), this::withoutCounters));
+        return cached.toPage(this::copy);
     }
 
     @Override
-    @CacheEvict(value = "notes", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    public Note createNote(Long userId, Object form) {
-        return null;
+    public void evictNote(Long id, Long... categoryIds) {
+        Set<String> scopes = new LinkedHashSet<>();
+        scopes.add(ALL);
+        for (Long categoryId : categoryIds) {
+            if (categoryId != null) {
+                scopes.add(String.valueOf(categoryId));
+            }
+        }
+        AfterCommit.run(() -> {
+            if (id != null) {
+                cache(NOTES).evict("detail:" + id);
+            }
+            scopes.forEach(scope -> evictPages(NOTES, scope));
+        });
     }
 
     @Override
-    @CacheEvict(value = "notes", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    public Note updateNote(Long userId, Long id, Object form) {
-        return null;
+    public Question getQuestion(Long id, Supplier<Question> loader) {
+        Question cached = load(QUESTIONS, "detail:" + id, () -> withoutCounters(loader.get()));
+        return copy(cached);
     }
 
     @Override
-    @CacheEvict(value = "notes", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    public void deleteNote(Long userId, Long id) {
-        noteMapper.deleteById(id);
+    public IPage<QuestionListItem> getQuestionPage(Page<QuestionListItem> page, Supplier<IPage<QuestionListItem>> loader) {
+        if (!isCacheable(page)) {
+            return loader.get();
+        }
+        CachedPage<QuestionListItem> cached = loadPage(QUESTIONS, ALL, page,
+                () -> CachedPage.of(loader.get(), this::withoutCounters));
+        return cached.toPage(this::copy);
     }
 
     @Override
-    @Cacheable(value = "questions", key = "'page:' + #page + ':' + #pageSize + ':' + #keyword", unless = "#result == null")
-    public IPage<Question> getQuestionPage(Page<Question> page, String keyword) {
-        return questionMapper.selectQuestionPage(page, keyword);
+    public void evictQuestion(Long id) {
+        AfterCommit.run(() -> {
+            if (id != null) {
+                cache(QUESTIONS).evict("detail:" + id);
+            }
+            evictPages(QUESTIONS, ALL);
+        });
     }
 
     @Override
-    @Cacheable(value = "questions", key = "#id", unless = "#result == null")
-    public Question getQuestionById(Long id) {
-        Question question = questionMapper.selectById(id);
-        if (question != null) {
-            questionMapper.incrementViewCount(id);
+    public void clearAllCaches() {
+        cache(NOTES).clear();
+        cache(QUESTIONS).clear();
+    }
+
+    private <T> T load(String cacheName, String key, Supplier<T> loader) {
+        try {
+            return cache(cacheName).get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-        return question;
     }
 
-    @Override
-    @CacheEvict(value = "questions", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    public Question createQuestion(Long userId, Object form) {
-        return null;
+    private boolean isCacheable(Page<?> page) {
+        return page.getCurrent() <= maxCachedPage && cachedPageSizes.contains(page.getSize());
     }
 
-    @Override
-    @CacheEvict(value = "questions", allEntries = true)
-    @Transactional(rollbackFor = Exception.class)
-    public void deleteQuestion(Long userId, Long id) {
-        questionMapper.deleteById(id);
+    /**
+     * 分页 key 在值写入 Redis 之后才登记到索引。若在加载时登记，写入前执行的失效会把尚未写入的 key
+     * 移出索引，随后写入的旧分页不在索引中，再也不会被失效；登记在写入之后则最迟由下一次写操作失效。
+     */
+    private <T> CachedPage<T> loadPage(String cacheName, String scope, Page<?> page, Supplier<CachedPage<T>> loader) {
+        String key = "page:" + scope + ":" + page.getCurrent() + ":" + page.getSize();
+        AtomicBoolean loaded = new AtomicBoolean();
+        CachedPage<T> cached = load(cacheName, key, () -> {
+            loaded.set(true);
+            return loader.get();
+        });
+        if (loaded.get()) {
+            redisTemplate.opsForSet().add(pageIndexKey(cacheName, scope), key);
+        }
+        return cached;
     }
 
-    @Override
-    public void clearAllCaches() {
+    private void evictPages(String cacheName, String scope) {
+        String indexKey = pageIndexKey(cacheName, scope);
+        Set<Object> keys = redisTemplate.opsForSet().members(indexKey);
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        Cache cache = cache(cacheName);
+        keys.stream().filter(Objects::nonNull).forEach(key -> cache.evict(key.toString()));
+        // 只移除已失效的成员: 读取之后新登记的分页 key 留在索引中，由下一次写操作失效
+        redisTemplate.opsForSet().remove(indexKey, keys.toArray());
+        log.debug("失效缓存 {} 分页: scope={}, {} 个 key", cacheName, scope, keys.size());
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+
+    private String pageIndexKey(String cacheName, String scope) {
+        return "cache:index:" + cacheName + ":page:" + scope;
+    }
+
+    private Note withoutCounters(Note note) {
+        Note copy = copy(note);
+        copy.setViewCount(null);
+        copy.setLikeCount(null);
+        return copy;
+    }
+
+    private Question withoutCounters(Question question) {
+        Question copy = copy(question);
+        copy.setViewCount(null);
+        copy.setAnswerCount(null);
+        return copy;
+    }
+
+    private NoteListItem withoutCounters(NoteListItem note) {
+        NoteListItem copy = copy(note);
+        copy.setViewCount(null);
+        copy.setLikeCount(null);
+        return copy;
+    }
+
+    private QuestionListItem withoutCounters(QuestionListItem question) {
+        QuestionListItem copy = copy(question);
+        copy.setViewCount(null);
+        copy.setAnswerCount(null);
+        return copy;
+    }
+
+    private Note copy(Note note) {
+        return BeanUtil.copyProperties(note, Note.class);
+    }
+
+    private Question copy(Question question) {
+        return BeanUtil.copyProperties(question, Question.class);
+    }
+
+    private NoteListItem copy(NoteListItem note) {
+        return BeanUtil.copyProperties(note, NoteListItem.class);
+    }
+
+    private QuestionListItem copy(QuestionListItem question) {
+        return BeanUtil.copyProperties(question, QuestionListItem.class);
     }
 }
@@ -1,11 +1,133 @@
 package com.blog.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.blog.entity.Category;
 import com.blog.mapper.CategoryMapper;
 import com.blog.service.CategoryService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 分类几乎不变，整表加载为不可变快照，读取不访问数据库。
+ * 笔记数随定时刷新更新，允许短暂滞后。
+ */
+@Slf4j
 @Service
-public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService {
+@RequiredArgsConstructor
+public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService, MessageListener {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${blog.category.channel:category:changed}")
+    private String channel;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        refresh();
+    }
+
+    @Override
+    public List<Category> listCategories() {
+        return snapshot().list();
+    }
+
+    @Override
+    public Map<Long, Category> getCategories(Collection<Long> ids) {
+        Map<Long, Category> byId = snapshot().byId();
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${blog.category.refresh-interval:60000}",
+            fixedDelayString = "${blog.category.refresh-interval:60000}")
+    public void refresh() {
+        try {
+            snapshot = load();
+        } catch (Exception e) {
+            log.error("加载分类快照失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void notifyChanged() {
+        refresh();
+        try {
+            redisTemplate.convertAndSend(channel, "refresh");
+        } catch (Exception e) {
+            log.warn("广播分类变更失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refresh();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 加载涉及 JDBC I/O，用 ReentrantLock 而非 synchronized，避免钉住虚拟线程
+            loadLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        Map<Long, Long> noteCounts = baseMapper.selectNoteCounts().stream()
+                .collect(Collectors.toMap(Category::getId, Category::getNoteCount));
+        Map<Long, Category> byId = new LinkedHashMap<>();
+        list(new LambdaQueryWrapper<Category>().orderByAsc(Category::getId)).forEach(category -> {
+            category.setNoteCount(noteCounts.getOrDefault(category.getId(), 0L));
+            byId.put(category.getId(), category);
+        });
+        log.debug("分类快照已加载: {} 个分类", byId.size());
+        return new Snapshot(Collections.unmodifiableMap(byId), List.copyOf(byId.values()));
+    }
+
+    private record Snapshot(Map<Long, Category> byId, List<Category> list) {
+    }
 }
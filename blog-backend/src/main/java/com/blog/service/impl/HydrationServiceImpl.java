@@ -0,0 +1,96 @@
+package com.blog.service.impl;
+
+import com.blog.dto.NoteListItem;
+import com.blog.dto.QuestionListItem;
+import com.blog.dto.UserSummary;
+import com.blog.entity.Answer;
+import com.blog.entity.Category;
+import com.blog.entity.Note;
+import com.blog.entity.Question;
+import com.blog.service.CategoryService;
+import com.blog.service.HydrationService;
+import com.blog.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class HydrationServiceImpl implements HydrationService {
+
+    private final UserService userService;
+    private final CategoryService categoryService;
+
+    @Override
+    public <T> void attachUsers(Collection<T> items, Function<T, Long> userIdGetter, BiConsumer<T, UserSummary> userSetter) {
+        Set<Long> userIds = collectIds(items, userIdGetter);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        attach(items, userIdGetter, userSetter, userService.getUserSummaries(userIds));
+    }
+
+    @Override
+    public <T> void attachCategories(Collection<T> items, Function<T, Long> categoryIdGetter, BiConsumer<T, Category> categorySetter) {
+        Set<Long> categoryIds = collectIds(items, categoryIdGetter);
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+        attach(items, categoryIdGetter, categorySetter, categoryService.getCategories(categoryIds));
+    }
+
+    @Override
+    public void hydrateNotes(Collection<Note> notes) {
+        attachUsers(notes, Note::getUserId, Note::setUser);
+        attachCategories(notes, Note::getCategoryId, Note::setCategory);
+    }
+
+    @Override
+    public void hydrateQuestions(Collection<Question> questions) {
+        attachUsers(questions, Question::getUserId, Question::setUser);
+    }
+
+    @Override
+    public void hydrateAnswers(Collection<Answer> answers) {
+        attachUsers(answers, Answer::getUserId, Answer::setUser);
+    }
+
+    @Override
+    public void hydrateNoteList(Collection<NoteListItem> notes) {
+        attachUsers(notes, NoteListItem::getUserId, NoteListItem::setUser);
+        attachCategories(notes, NoteListItem::getCategoryId, NoteListItem::setCategory);
+    }
+
+    @Override
+    public void hydrateQuestionList(Collection<QuestionListItem> questions) {
+        attachUsers(questions, QuestionListItem::getUserId, QuestionListItem::setUser);
+    }
+
+    private <T> Set<Long> collectIds(Collection<T> items, Function<T, Long> idGetter) {
+        if (items == null || items.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return items.stream()
+                .map(idGetter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private <T, V> void attach(Collection<T> items, Function<T, Long> idGetter, BiConsumer<T, V> setter, Map<Long, V> values) {
+        items.forEach(item -> {
+            Long id = idGetter.apply(item);
+            V value = id == null ? null : values.get(id);
+            if (value != null) {
+                setter.accept(item, value);
+            }
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package com.blog.service.impl;
+
+import com.blog.mapper.AnswerMapper;
+import com.blog.mapper.NoteMapper;
+import com.blog.service.LikeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikeServiceImpl implements LikeService {
+
+    private static final String NOTE = "note";
+    private static final String ANSWER = "answer";
+    private static final String LOCK_KEY = "like:reconcile:lock";
+
+    /**
+     * KEYS[1] 点赞用户集合, KEYS[2] 待写回的增量 hash; ARGV[1] 用户ID, ARGV[2] 目标ID。
+     * 只有首次加入集合时才累加增量，保证同一用户重复点赞是幂等的。
+     */
+    private static final RedisScript<Long> LIKE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SADD', KEYS[1], ARGV[1]) == 1 then " +
+            "  redis.call('HINCRBY', KEYS[2], ARGV[2], 1) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final NoteMapper noteMapper;
+    private final AnswerMapper answerMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${blog.like.reconcile-lock-timeout:60000}")
+    private long lockTimeout;
+
+    @Override
+    public boolean likeNote(Long userId, Long noteId) {
+        return like(NOTE, userId, noteId);
+    }
+
+    @Override
+    public boolean likeAnswer(Long userId, Long answerId) {
+        return like(ANSWER, userId, answerId);
+    }
+
+    @Override
+    public Map<Long, Long> pendingNoteLikes(Collection<Long> noteIds) {
+        return pending(NOTE, noteIds);
+    }
+
+    @Override
+    public Map<Long, Long> pendingAnswerLikes(Collection<Long> answerIds) {
+        return pending(ANSWER, answerIds);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.like.reconcile-interval:10000}")
+    public void reconcile() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, Duration.ofMillis(lockTimeout));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        try {
+            reconcile(NOTE, noteMapper::batchIncrementLikeCount);
+            reconcile(ANSWER, answerMapper::batchIncrementLikeCount);
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), nodeId);
+        }
+    }
+
+    private boolean like(String type, Long userId, Long targetId) {
+        Long added = redisTemplate.execute(LIKE_SCRIPT,
+                List.of(usersKey(type, targetId), pendingKey(type)),
+                userId, targetId);
+        return added != null && added == 1L;
+    }
+
+    /**
+     * 待写回与正在写回的两个 hash 在一次往返内读取；Redis 不可用时按无增量处理，只影响展示
+     */
+    private Map<Long, Long> pending(String type, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = List.copyOf(targetIds);
+        List<Object> fields = ids.stream().map(String::valueOf).collect(Collectors.toList());
+        String pendingKey = pendingKey(type);
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> template = (RedisOperations<String, Object>) operations;
+                    template.opsForHash().multiGet(pendingKey, fields);
+                    template.opsForHash().multiGet(pendingKey + ":processing", fields);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("读取{}待写回点赞数失败: {}", type, e.getMessage());
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Long> pending = new HashMap<>();
+        for (Object result : results) {
+            List<?> values = (List<?>) result;
+            for (int i = 0; i < ids.size(); i++) {
+                if (values.get(i) instanceof Number number && number.longValue() != 0) {
+                    pending.merge(ids.get(i), number.longValue(), Long::sum);
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 先把增量 hash 改名为 processing key 再读取，写库成功后才删除；
+     * 写库失败时 processing key 保留，下一轮重试同一批增量。
+     */
+    private void reconcile(String type, Consumer<Map<Long, Long>> writer) {
+        String pendingKey = pendingKey(type);
+        String processingKey = pendingKey + ":processing";
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(processingKey))) {
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(pendingKey))) {
+                    return;
+                }
+                redisTemplate.rename(pendingKey, processingKey);
+            }
+
+            Map<Long, Long> deltas = new HashMap<>();
+            redisTemplate.opsForHash().entries(processingKey).forEach((id, delta) -> {
+                long value = ((Number) delta).longValue();
+                if (value != 0) {
+                    deltas.put(Long.valueOf(id.toString()), value);
+                }
+            });
+            if (!deltas.isEmpty()) {
+                writer.accept(deltas);
+            }
+            redisTemplate.delete(processingKey);
+            log.debug("写回{}点赞数: {} 条记录", type, deltas.size());
+        } catch (Exception e) {
+            log.error("写回{}点赞数失败: {}", type, e.getMessage());
+        }
+    }
+
+    private String usersKey(String type, Long targetId) {
+        return "like:" + type + ":" + targetId + ":users";
+    }
+
+    private String pendingKey(String type) {
+        return "like:" + type + ":pending";
+    }
+}
@@ -0,0 +1,132 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.common.AfterCommit;
+import com.blog.common.MarkdownText;
+import com.blog.entity.Note;
+import com.blog.mapper.NoteMapper;
+import com.blog.service.CacheService;
+import com.blog.service.NoteExcerptService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class NoteExcerptServiceImpl implements NoteExcerptService {
+
+    private final NoteMapper noteMapper;
+    private final CacheService cacheService;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    @Value("${blog.excerpt.max-length:200}")
+    private int maxLength;
+
+    @Value("${blog.excerpt.backfill-batch-size:200}")
+    private int backfillBatchSize;
+
+    @Value("${blog.excerpt.backfill-pause:100}")
+    private long backfillPauseMillis;
+
+    public NoteExcerptServiceImpl(NoteMapper noteMapper,
+                                  CacheService cacheService,
+                                  @Value("${blog.excerpt.queue-capacity:1000}") int queueCapacity) {
+        this.noteMapper = noteMapper;
+        this.cacheService = cacheService;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "note-excerpt");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("摘录生成队列已满，丢弃任务，等待回填补齐"));
+    }
+
+    @Override
+    public void scheduleGeneration(Long noteId) {
+        AfterCommit.run(() -> executor.execute(() -> {
+            try {
+                generate(noteId);
+            } catch (Exception e) {
+                log.error("生成笔记摘录失败: {}", noteId, e);
+            }
+        }));
+    }
+
+    @Override
+    public boolean startBackfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                log.error("笔记摘录回填失败", e);
+            } finally {
+                backfillRunning.set(false);
+            }
+        }, "note-excerpt-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private void generate(Long noteId) {
+        Note note = noteMapper.selectOne(new LambdaQueryWrapper<Note>()
+                .select(Note::getId, Note::getCategoryId, Note::getContent)
+                .eq(Note::getId, noteId));
+        if (note == null) {
+            return;
+        }
+        write(note);
+        cacheService.evictNote(noteId, note.getCategoryId());
+    }
+
+    /**
+     * 按主键 keyset 分批处理 excerpt 为空的笔记，每行单独提交，不持有长事务
+     */
+    private void backfill() throws InterruptedException {
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<Note> notes = noteMapper.selectWithoutExcerpt(lastId, backfillBatchSize);
+            if (notes.isEmpty()) {
+                break;
+            }
+            for (Note note : notes) {
+                write(note);
+                lastId = note.getId();
+            }
+            total += notes.size();
+            if (backfillPauseMillis > 0) {
+                Thread.sleep(backfillPauseMillis);
+            }
+        }
+        if (total > 0) {
+            cacheService.clearAllCaches();
+        }
+        log.info("笔记摘录回填完成，共处理 {} 条", total);
+    }
+
+    private void write(Note note) {
+        String plainText = MarkdownText.toPlainText(note.getContent());
+        noteMapper.updateExcerpt(note.getId(),
+                MarkdownText.excerpt(plainText, maxLength),
+                MarkdownText.readingMinutes(plainText));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,83 +1,93 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.common.Cursor;
+import com.blog.common.OwnershipCheck;
+import com.blog.dto.CursorPage;
 import com.blog.dto.NoteForm;
-import com.blog.entity.Category;
+import com.blog.dto.NoteListItem;
+import com.blog.dto.SearchResult;
 import com.blog.entity.Note;
-import com.blog.entity.User;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.NoteMapper;
-import com.blog.service.CategoryService;
+import com.blog.service.CacheService;
+import com.blog.service.HydrationService;
+import com.blog.service.LikeService;
+import com.blog.service.NoteExcerptService;
 import com.blog.service.NoteService;
-import com.blog.service.UserService;
+import com.blog.service.SearchService;
+import com.blog.service.TrendingService;
+import com.blog.service.ViewCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements NoteService {
 
-    private final UserService userService;
-    private final CategoryService categoryService;
+    private static final int MAX_FEED_SIZE = 50;
+
+    private final HydrationService hydrationService;
+    private final ViewCountService viewCountService;
+    private final LikeService likeService;
+    private final CacheService cacheService;
+    private final SearchService searchService;
+    private final NoteExcerptService noteExcerptService;
+    private final TrendingService trendingService;
 
     @Override
-    public IPage<Note> getNotePage(Page<Note> page, Long categoryId, String keyword, Long userId) {
-        LambdaQueryWrapper<Note> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Note::getStatus, 1);
-        
-        if (categoryId != null) {
-            wrapper.eq(Note::getCategoryId, categoryId);
-        }
+    public IPage<NoteListItem> getNotePage(Page<NoteListItem> page, Long categoryId, String keyword, Long userId) {
+        IPage<NoteListItem> result;
         if (keyword != null && !keyword.isEmpty()) {
-            wrapper.like(Note::getTitle, keyword);
+            result = searchNotePage(page, categoryId, keyword, userId);
+        } else if (userId == null) {
+            result = cacheService.getNotePage(page, categoryId, () -> loadNotePage(page, categoryId, null));
+        } else {
+            result = loadNotePage(page, categoryId, userId);
         }
-        if (userId != null) {
-            wrapper.eq(Note::getUserId, userId);
-        }
-        
-        wrapper.orderByDesc(Note::getCreateTime);
-        
-        IPage<Note> result = page(page, wrapper);
-        
-        result.getRecords().forEach(note -> {
-            User user = userService.getById(note.getUserId());
-            if (user != null) {
-                note.setUser(user);
-            }
-            if (note.getCategoryId() != null) {
-                Category category = categoryService.getById(note.getCategoryId());
-                if (category != null) {
-                    note.setCategory(category);
-                }
-            }
-        });
+        fillCounters(result.getRecords(), NoteListItem::getId, NoteListItem::setViewCount, NoteListItem::setLikeCount);
         
         return result;
     }
 
     @Override
-    public Note getNoteById(Long id) {
-        Note note = getById(id);
-        if (note == null || note.getStatus() == 3) {
-            throw new BusinessException("笔记不存在");
-        }
+    public CursorPage<NoteListItem> getNoteFeed(String after, Integer pageSize, Long categoryId) {
+        Cursor cursor = Cursor.decode(after);
+        int size = Math.max(1, Math.min(pageSize, MAX_FEED_SIZE));
         
-        User user = userService.getById(note.getUserId());
-        if (user != null) {
-            note.setUser(user);
+        List<NoteListItem> notes = baseMapper.selectNoteFeed(categoryId, cursor, size + 1);
+        boolean hasMore = notes.size() > size;
+        if (hasMore) {
+            notes = notes.subList(0, size);
         }
-        if (note.getCategoryId() != null) {
-            Category category = categoryService.getById(note.getCategoryId());
-            if (category != null) {
-                note.setCategory(category);
-            }
+        hydrationService.hydrateNoteList(notes);
+        
+        String nextCursor = null;
+        if (hasMore) {
+            NoteListItem last = notes.get(notes.size() - 1);
+            nextCursor = new Cursor(last.getCreateTime(), last.getId()).encode();
         }
+        return new CursorPage<>(notes, nextCursor, hasMore);
+    }
+
+    @Override
+    public Note getNoteById(Long id) {
+        Note note = cacheService.getNote(id, () -> loadNote(id));
+        fillCounters(List.of(note), Note::getId, Note::setViewCount, Note::setLikeCount);
         
         return note;
     }
@@ -96,6 +106,9 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements No
         note.setStatus(1);
         
         save(note);
+        noteExcerptService.scheduleGeneration(note.getId());
+        cacheService.evictNote(note.getId(), note.getCategoryId());
+        searchService.onNoteChanged(note.getId());
         log.info("用户 {} 创建笔记: {}", userId, note.getTitle());
         
         return note;
@@ -104,20 +117,42 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements No
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Note updateNote(Long userId, Long id, NoteForm form) {
-        Note note = getById(id);
-        if (note == null) {
+        Note note = getOne(new LambdaQueryWrapper<Note>()
+                .select(Note.class, field -> !"content".equals(field.getColumn()))
+                .eq(Note::getId, id));
+        if (note == null || note.getStatus() == 3) {
             throw new BusinessException("笔记不存在");
         }
         if (!note.getUserId().equals(userId)) {
             throw new BusinessException("无权限修改此笔记");
         }
         
+        // 需要先读出原分类用于失效分类分页缓存，因此保留前置读取。
+        // 读取未加锁，其后仍可能被并发删除；UPDATE 中重复 user_id / status 条件，让写入本身仍以原子方式校验归属与存在
+        Long previousCategoryId = note.getCategoryId();
+        boolean updated = update(new LambdaUpdateWrapper<Note>()
+                .set(Note::getTitle, form.getTitle())
+                .set(Note::getContent, form.getContent())
+                .set(Note::getSummary, form.getSummary())
+                .set(Note::getCategoryId, form.getCategoryId())
+                .set(Note::getExcerpt, null)
+                .set(Note::getReadingMinutes, null)
+                .eq(Note::getId, id)
+                .eq(Note::getUserId, userId)
+                .ne(Note::getStatus, 3));
+        if (!updated) {
+            throw new BusinessException("笔记不存在");
+        }
+        
         note.setTitle(form.getTitle());
         note.setContent(form.getContent());
         note.setSummary(form.getSummary());
         note.setCategoryId(form.getCategoryId());
-        
-        updateById(note);
+        note.setExcerpt(null);
+        note.setReadingMinutes(null);
+        noteExcerptService.scheduleGeneration(id);
+        cacheService.evictNote(id, previousCategoryId, note.getCategoryId());
+        searchService.onNoteChanged(id);
         log.info("用户 {} 更新笔记: {}", userId, note.getTitle());
         
         return note;
@@ -126,44 +161,113 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements No
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteNote(Long userId, Long id) {
-        Note note = getById(id);
-        if (note == null) {
-            throw new BusinessException("笔记不存在");
-        }
-        if (!note.getUserId().equals(userId)) {
-            throw new BusinessException("无权限删除此笔记");
+        boolean deleted = update(new LambdaUpdateWrapper<Note>()
+                .set(Note::getStatus, 3)
+                .eq(Note::getId, id)
+                .eq(Note::getUserId, userId)
+                .ne(Note::getStatus, 3));
+        Note note = getOne(new LambdaQueryWrapper<Note>()
+                .select(Note::getId, Note::getUserId, Note::getCategoryId)
+                .eq(Note::getId, id));
+        if (!deleted) {
+            OwnershipCheck.throwUpdateFailure(note == null ? null : note.getUserId(), userId,
+                    "笔记不存在", "无权限删除此笔记");
         }
         
-        note.setStatus(3);
-        updateById(note);
+        cacheService.evictNote(id, note.getCategoryId());
+        searchService.onNoteChanged(id);
         log.info("用户 {} 删除笔记: {}", userId, id);
     }
 
     @Override
     public void incrementViewCount(Long id) {
-        Note note = getById(id);
-        if (note != null) {
-            note.setViewCount(note.getViewCount() + 1);
-            updateById(note);
+        viewCountService.recordNoteView(id);
+    }
+
+    @Override
+    public boolean likeNote(Long userId, Long id) {
+        boolean liked = likeService.likeNote(userId, id);
+        if (liked) {
+            trendingService.recordNoteLike(id);
         }
+        return liked;
     }
 
     @Override
-    public void incrementLikeCount(Long id) {
-        Note note = getById(id);
-        if (note != null) {
-            note.setLikeCount(note.getLikeCount() + 1);
-            updateById(note);
+    public List<NoteListItem> getTrendingNotes(Integer limit) {
+        List<Long> ids = trendingService.topNoteIds(Math.max(1, Math.min(limit, MAX_FEED_SIZE)));
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, NoteListItem> byId = baseMapper.selectNoteListByIds(ids).stream()
+                .filter(note -> note.getStatus() == 1)
+                .collect(Collectors.toMap(NoteListItem::getId, Function.identity()));
+        List<NoteListItem> notes = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        hydrationService.hydrateNoteList(notes);
+        fillCounters(notes, NoteListItem::getId, NoteListItem::setViewCount, NoteListItem::setLikeCount);
+        
+        return notes;
     }
 
     @Override
-    public IPage<Note> getMyNotes(Page<Note> page, Long userId) {
-        LambdaQueryWrapper<Note> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Note::getUserId, userId);
-        wrapper.ne(Note::getStatus, 3);
-        wrapper.orderByDesc(Note::getCreateTime);
+    public IPage<NoteListItem> getMyNotes(Page<NoteListItem> page, Long userId) {
+        return baseMapper.selectNoteListPage(page, null, userId, null);
+    }
+
+    private IPage<NoteListItem> searchNotePage(Page<NoteListItem> page, Long categoryId, String keyword, Long userId) {
+        SearchResult hits = searchService.searchNotes(keyword, categoryId, userId, page.getCurrent(), page.getSize());
+        List<NoteListItem> notes = List.of();
+        if (!hits.getIds().isEmpty()) {
+            Map<Long, NoteListItem> byId = baseMapper.selectNoteListByIds(hits.getIds()).stream()
+                    .filter(note -> note.getStatus() == 1)
+                    .collect(Collectors.toMap(NoteListItem::getId, Function.identity()));
+            notes = hits.getIds().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        hydrationService.hydrateNoteList(notes);
         
-        return page(page, wrapper);
+        page.setRecords(notes);
+        page.setTotal(hits.getTotal());
+        return page;
+    }
+
+    private IPage<NoteListItem> loadNotePage(Page<NoteListItem> page, Long categoryId, Long userId) {
+        IPage<NoteListItem> result = baseMapper.selectNoteListPage(page, categoryId, userId, 1);
+        hydrationService.hydrateNoteList(result.getRecords());
+        
+        return result;
+    }
+
+    private Note loadNote(Long id) {
+        Note note = getById(id);
+        if (note == null || note.getStatus() == 3) {
+            throw new BusinessException("笔记不存在");
+        }
+        
+        hydrationService.hydrateNotes(List.of(note));
+        
+        return note;
+    }
+
+    private <T> void fillCounters(List<T> items, Function<T, Long> idGetter,
+                                  BiConsumer<T, Integer> viewCountSetter, BiConsumer<T, Integer> likeCountSetter) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Long> ids = items.stream().map(idGetter).toList();
+        Map<Long, Note> counters = list(new LambdaQueryWrapper<Note>()
+                .select(Note::getId, Note::getViewCount, Note::getLikeCount)
+                .in(Note::getId, ids))
+                .stream()
+                .collect(Collectors.toMap(Note::getId, Function.identity()));
+        Map<Long, Long> pendingLikes = likeService.pendingNoteLikes(ids);
+        
+        items.forEach(item -> {
+            Long id = idGetter.apply(item);
+            Note counter = counters.get(id);
+            int viewCount = counter == null || counter.getViewCount() == null ? 0 : counter.getViewCount();
+            int likeCount = counter == null || counter.getLikeCount() == null ? 0 : counter.getLikeCount();
+            viewCountSetter.accept(item, viewCount + (int) viewCountService.pendingNoteViews(id));
+            likeCountSetter.accept(item, likeCount + pendingLikes.getOrDefault(id, 0L).intValue());
+        });
     }
 }
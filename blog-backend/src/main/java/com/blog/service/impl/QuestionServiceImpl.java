@@ -1,65 +1,113 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.common.Cursor;
+import com.blog.common.OwnershipCheck;
+import com.blog.dto.CursorPage;
 import com.blog.dto.QuestionForm;
+import com.blog.dto.QuestionListItem;
+import com.blog.dto.SearchResult;
 import com.blog.entity.Question;
-import com.blog.entity.User;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.QuestionMapper;
+import com.blog.service.CacheService;
+import com.blog.service.HydrationService;
 import com.blog.service.QuestionService;
-import com.blog.service.UserService;
+import com.blog.service.SearchService;
+import com.blog.service.TrendingService;
+import com.blog.service.ViewCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> implements QuestionService {
 
-    private final UserService userService;
+    private static final int MAX_FEED_SIZE = 50;
+    private static final String RECONCILE_LOCK_KEY = "answer-count:reconcile:lock";
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final HydrationService hydrationService;
+    private final ViewCountService viewCountService;
+    private final CacheService cacheService;
+    private final SearchService searchService;
+    private final TrendingService trendingService;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${blog.answer-count.reconcile-batch-size:1000}")
+    private int reconcileBatchSize;
+
+    @Value("${blog.answer-count.reconcile-lock-timeout:600000}")
+    private long reconcileLockTimeout;
 
     @Override
-    public IPage<Question> getQuestionPage(Page<Question> page, String keyword, Long userId) {
-        LambdaQueryWrapper<Question> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Question::getStatus, 1);
-        
+    public IPage<QuestionListItem> getQuestionPage(Page<QuestionListItem> page, String keyword, Long userId) {
+        IPage<QuestionListItem> result;
         if (keyword != null && !keyword.isEmpty()) {
-            wrapper.like(Question::getTitle, keyword);
+            result = searchQuestionPage(page, keyword, userId);
+        } else if (userId == null) {
+            result = cacheService.getQuestionPage(page, () -> loadQuestionPage(page, null));
+        } else {
+            result = loadQuestionPage(page, userId);
         }
-        if (userId != null) {
-            wrapper.eq(Question::getUserId, userId);
-        }
-        
-        wrapper.orderByDesc(Question::getCreateTime);
-        
-        IPage<Question> result = page(page, wrapper);
-        
-        result.getRecords().forEach(question -> {
-            User user = userService.getById(question.getUserId());
-            if (user != null) {
-                question.setUser(user);
-            }
-        });
+        fillCounters(result.getRecords(), QuestionListItem::getId,
+                QuestionListItem::setViewCount, QuestionListItem::setAnswerCount);
         
         return result;
     }
 
     @Override
-    public Question getQuestionById(Long id) {
-        Question question = getById(id);
-        if (question == null || question.getStatus() == 3) {
-            throw new BusinessException("问题不存在");
+    public CursorPage<QuestionListItem> getQuestionFeed(String after, Integer pageSize) {
+        Cursor cursor = Cursor.decode(after);
+        int size = Math.max(1, Math.min(pageSize, MAX_FEED_SIZE));
+        
+        List<QuestionListItem> questions = baseMapper.selectQuestionFeed(cursor, size + 1);
+        boolean hasMore = questions.size() > size;
+        if (hasMore) {
+            questions = questions.subList(0, size);
         }
+        hydrationService.hydrateQuestionList(questions);
         
-        User user = userService.getById(question.getUserId());
-        if (user != null) {
-            question.setUser(user);
+        String nextCursor = null;
+        if (hasMore) {
+            QuestionListItem last = questions.get(questions.size() - 1);
+            nextCursor = new Cursor(last.getCreateTime(), last.getId()).encode();
         }
+        return new CursorPage<>(questions, nextCursor, hasMore);
+    }
+
+    @Override
+    public Question getQuestionById(Long id) {
+        Question question = cacheService.getQuestion(id, () -> loadQuestion(id));
+        fillCounters(List.of(question), Question::getId, Question::setViewCount, Question::setAnswerCount);
         
         return question;
     }
@@ -76,6 +124,8 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
         question.setStatus(1);
         
         save(question);
+        cacheService.evictQuestion(question.getId());
+        searchService.onQuestionChanged(question.getId());
         log.info("用户 {} 创建问题: {}", userId, question.getTitle());
         
         return question;
@@ -84,18 +134,28 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Question updateQuestion(Long userId, Long id, QuestionForm form) {
-        Question question = getById(id);
-        if (question == null) {
-            throw new BusinessException("问题不存在");
-        }
-        if (!question.getUserId().equals(userId)) {
-            throw new BusinessException("无权限修改此问题");
+        // 归属校验并入 UPDATE，成功时只有一次往返；失败时才回读以区分不存在与无权限
+        boolean updated = update(new LambdaUpdateWrapper<Question>()
+                .set(Question::getTitle, form.getTitle())
+                .set(Question::getContent, form.getContent())
+                .eq(Question::getId, id)
+                .eq(Question::getUserId, userId)
+                .ne(Question::getStatus, 3));
+        if (!updated) {
+            Question existing = getOne(new LambdaQueryWrapper<Question>()
+                    .select(Question::getId, Question::getUserId)
+                    .eq(Question::getId, id));
+            OwnershipCheck.throwUpdateFailure(existing == null ? null : existing.getUserId(), userId,
+                    "问题不存在", "无权限修改此问题");
         }
         
+        Question question = new Question();
+        question.setId(id);
+        question.setUserId(userId);
         question.setTitle(form.getTitle());
         question.setContent(form.getContent());
-        
-        updateById(question);
+        cacheService.evictQuestion(id);
+        searchService.onQuestionChanged(id);
         log.info("用户 {} 更新问题: {}", userId, question.getTitle());
         
         return question;
@@ -104,35 +164,130 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteQuestion(Long userId, Long id) {
-        Question question = getById(id);
-        if (question == null) {
-            throw new BusinessException("问题不存在");
-        }
-        if (!question.getUserId().equals(userId)) {
-            throw new BusinessException("无权限删除此问题");
+        boolean deleted = update(new LambdaUpdateWrapper<Question>()
+                .set(Question::getStatus, 3)
+                .eq(Question::getId, id)
+                .eq(Question::getUserId, userId)
+                .ne(Question::getStatus, 3));
+        if (!deleted) {
+            Question existing = getOne(new LambdaQueryWrapper<Question>()
+                    .select(Question::getId, Question::getUserId)
+                    .eq(Question::getId, id));
+            OwnershipCheck.throwUpdateFailure(existing == null ? null : existing.getUserId(), userId,
+                    "问题不存在", "无权限删除此问题");
         }
         
-        question.setStatus(3);
-        updateById(question);
+        cacheService.evictQuestion(id);
+        searchService.onQuestionChanged(id);
         log.info("用户 {} 删除问题: {}", userId, id);
     }
 
     @Override
     public void incrementViewCount(Long id) {
-        Question question = getById(id);
-        if (question != null) {
-            question.setViewCount(question.getViewCount() + 1);
-            updateById(question);
+        viewCountService.recordQuestionView(id);
+    }
+
+    @Override
+    public List<QuestionListItem> getTrendingQuestions(Integer limit) {
+        List<Long> ids = trendingService.topQuestionIds(Math.max(1, Math.min(limit, MAX_FEED_SIZE)));
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, QuestionListItem> byId = baseMapper.selectQuestionListByIds(ids).stream()
+                .filter(question -> question.getStatus() == 1)
+                .collect(Collectors.toMap(QuestionListItem::getId, Function.identity()));
+        List<QuestionListItem> questions = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        hydrationService.hydrateQuestionList(questions);
+        fillCounters(questions, QuestionListItem::getId,
+                QuestionListItem::setViewCount, QuestionListItem::setAnswerCount);
+        
+        return questions;
+    }
+
+    @Override
+    public IPage<QuestionListItem> getMyQuestions(Page<QuestionListItem> page, Long userId) {
+        return baseMapper.selectQuestionListPage(page, userId, null);
     }
 
     @Override
-    public IPage<Question> getMyQuestions(Page<Question> page, Long userId) {
-        LambdaQueryWrapper<Question> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Question::getUserId, userId);
-        wrapper.ne(Question::getStatus, 3);
-        wrapper.orderByDesc(Question::getCreateTime);
+    @Scheduled(initialDelayString = "${blog.answer-count.reconcile-initial-delay:60000}",
+            fixedDelayString = "${blog.answer-count.reconcile-interval:3600000}")
+    public void reconcileAnswerCounts() {
+        // 多节点只需一个节点对账，与点赞对账相同的 Redis 锁
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, nodeId,
+                Duration.ofMillis(reconcileLockTimeout));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        try {
+            Long maxId = baseMapper.selectMaxId();
+            if (maxId == null) {
+                return;
+            }
+            int fixed = 0;
+            for (long fromId = 1; fromId <= maxId; fromId += reconcileBatchSize) {
+                fixed += baseMapper.reconcileAnswerCount(fromId, fromId + reconcileBatchSize);
+            }
+            if (fixed > 0) {
+                log.warn("回答数对账完成，修正 {} 个问题", fixed);
+            }
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(RECONCILE_LOCK_KEY), nodeId);
+        }
+    }
+
+    private IPage<QuestionListItem> searchQuestionPage(Page<QuestionListItem> page, String keyword, Long userId) {
+        SearchResult hits = searchService.searchQuestions(keyword, userId, page.getCurrent(), page.getSize());
+        List<QuestionListItem> questions = List.of();
+        if (!hits.getIds().isEmpty()) {
+            Map<Long, QuestionListItem> byId = baseMapper.selectQuestionListByIds(hits.getIds()).stream()
+                    .filter(question -> question.getStatus() == 1)
+                    .collect(Collectors.toMap(QuestionListItem::getId, Function.identity()));
+            questions = hits.getIds().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        hydrationService.hydrateQuestionList(questions);
+        
+        page.setRecords(questions);
+        page.setTotal(hits.getTotal());
+        return page;
+    }
+
+    private IPage<QuestionListItem> loadQuestionPage(Page<QuestionListItem> page, Long userId) {
+        IPage<QuestionListItem> result = baseMapper.selectQuestionListPage(page, userId, 1);
+        hydrationService.hydrateQuestionList(result.getRecords());
+        
+        return result;
+    }
+
+    private Question loadQuestion(Long id) {
+        Question question = getById(id);
+        if (question == null || question.getStatus() == 3) {
+            throw new BusinessException("问题不存在");
+        }
+        
+        hydrationService.hydrateQuestions(List.of(question));
+        
+        return question;
+    }
+
+    private <T> void fillCounters(List<T> items, Function<T, Long> idGetter,
+                                  BiConsumer<T, Integer> viewCountSetter, BiConsumer<T, Integer> answerCountSetter) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Long> ids = items.stream().map(idGetter).toList();
+        Map<Long, Question> counters = list(new LambdaQueryWrapper<Question>()
+                .select(Question::getId, Question::getViewCount, Question::getAnswerCount)
+                .in(Question::getId, ids))
+                .stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
         
-        return page(page, wrapper);
+        items.forEach(item -> {
+            Long id = idGetter.apply(item);
+            Question counter = counters.get(id);
+            int viewCount = counter == null || counter.getViewCount() == null ? 0 : counter.getViewCount();
+            viewCountSetter.accept(item, viewCount + (int) viewCountService.pendingQuestionViews(id));
+            answerCountSetter.accept(item, counter == null || counter.getAnswerCount() == null ? 0 : counter.getAnswerCount());
+        });
     }
 }
@@ -0,0 +1,523 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.common.AfterCommit;
+import com.blog.dto.SearchResult;
+import com.blog.entity.Note;
+import com.blog.entity.Question;
+import com.blog.mapper.NoteMapper;
+import com.blog.mapper.QuestionMapper;
+import com.blog.service.SearchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于 Lucene 的嵌入式全文索引，索引文件保存在本地磁盘，使用 SmartChineseAnalyzer 分词。
+ * 写操作提交后通过 Redis 频道广播变更，每个节点（包括自己）收到后从数据库重新加载该记录并更新本地索引。
+ * 广播不保证送达 (节点重启、Redis 抖动、监听重连期间的消息会丢失)，因此还会定期按 update_time 追平，
+ * 并定期全量重建以清除已删除记录留下的文档。追平进度写在索引的提交数据中，节点重启后从断点继续。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService, MessageListener {
+
+    private static final String NOTE = "note";
+    private static final String QUESTION = "question";
+
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_USER = "userId";
+    private static final String FIELD_CATEGORY = "categoryId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_CREATE_TIME = "createTime";
+    private static final String FIELD_GENERATION = "generation";
+
+    private static final String COMMIT_SYNCED_UP_TO = "syncedUpTo";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final float TITLE_BOOST = 3.0f;
+    private static final int MAX_WINDOW = 10000;
+
+    private final NoteMapper noteMapper;
+    private final QuestionMapper questionMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${blog.search.index-dir:./data/search-index}")
+    private String indexDir;
+
+    @Value("${blog.search.channel:search:index}")
+    private String channel;
+
+    @Value("${blog.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    @Value("${blog.search.catch-up-overlap:60000}")
+    private long catchUpOverlapMillis;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ReentrantReadWriteLock generationLock = new ReentrantReadWriteLock();
+
+    private Analyzer analyzer;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ThreadPoolExecutor syncExecutor;
+
+    /**
+     * 全量重建开始时更新，写入的每个文档都带上当前代号，重建结束后删除其他代号的文档
+     */
+    private volatile String generation = "0";
+
+    /**
+     * update_time 不早于该时间的记录已同步到索引，为 null 表示尚未完成过全量重建
+     */
+    private volatile LocalDateTime syncedUpTo;
+
+    private volatile boolean closing;
+
+    @PostConstruct
+    public void init() throws IOException {
+        analyzer = new SmartChineseAnalyzer();
+        directory = FSDirectory.open(Paths.get(indexDir));
+        if (DirectoryReader.indexExists(directory)) {
+            String synced = SegmentInfos.readLatestCommit(directory).getUserData().get(COMMIT_SYNCED_UP_TO);
+            syncedUpTo = synced == null ? null : LocalDateTime.parse(synced);
+        }
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        // 追平与重建在单独的线程上串行执行，已有任务排队时新的触发直接丢弃
+        syncExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        log.info("全文索引已打开: {}, 文档数 {}, 已同步至 {}", indexDir, writer.getDocStats().numDocs, syncedUpTo);
+    }
+
+    /**
+     * 空索引或没有同步进度时全量重建，否则追平停机期间的变更
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        if (writer.getDocStats().numDocs == 0 || syncedUpTo == null) {
+            syncExecutor.execute(this::rebuild);
+        } else {
+            syncExecutor.execute(this::catchUp);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${blog.search.catch-up-interval:300000}",
+            fixedDelayString = "${blog.search.catch-up-interval:300000}")
+    public void scheduleCatchUp() {
+        syncExecutor.execute(this::catchUp);
+    }
+
+    @Scheduled(initialDelayString = "${blog.search.full-rebuild-interval:86400000}",
+            fixedDelayString = "${blog.search.full-rebuild-interval:86400000}")
+    public void scheduleRebuild() {
+        syncExecutor.execute(this::rebuild);
+    }
+
+    @Override
+    public SearchResult searchNotes(String keyword, Long categoryId, Long userId, long page, long pageSize) {
+        return search(NOTE, keyword, categoryId, userId, page, pageSize);
+    }
+
+    @Override
+    public SearchResult searchQuestions(String keyword, Long userId, long page, long pageSize) {
+        return search(QUESTION, keyword, null, userId, page, pageSize);
+    }
+
+    @Override
+    public void onNoteChanged(Long noteId) {
+        AfterCommit.run(() -> publish(NOTE + ":" + noteId));
+    }
+
+    @Override
+    public void onQuestionChanged(Long questionId) {
+        AfterCommit.run(() -> publish(QUESTION + ":" + questionId));
+    }
+
+    /**
+     * 在原索引上覆盖写入所有已发布记录，期间检索不受影响；完成后删除未被本次重建覆盖的文档
+     */
+    @Override
+    public void rebuild() {
+        syncLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            String current = String.valueOf(start);
+            generationLock.writeLock().lock();
+            try {
+                generation = current;
+            } finally {
+                generationLock.writeLock().unlock();
+            }
+            SyncResult notes = syncNotes(null);
+            SyncResult questions = syncQuestions(null);
+            writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(FIELD_GENERATION, current)), BooleanClause.Occur.MUST_NOT)
+                    .build());
+            advanceSyncedUpTo(latest(EPOCH, latest(notes.lastUpdate(), questions.lastUpdate())));
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("全文索引重建完成: 笔记 {} 条, 问题 {} 条, 耗时 {} ms",
+                    notes.count(), questions.count(), System.currentTimeMillis() - start);
+        } catch (CancellationException e) {
+            log.info("应用关闭，中止全文索引重建");
+        } catch (IOException e) {
+            log.error("全文索引重建失败", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body instanceof String uid) {
+            reindex(uid);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.search.refresh-interval:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.search.commit-interval:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        // 不中断同步线程: 中断 Lucene 的文件 I/O 会关闭底层通道
+        closing = true;
+        syncExecutor.shutdown();
+        syncExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.commit();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    private SearchResult search(String type, String keyword, Long categoryId, Long userId, long page, long pageSize) {
+        Set<String> terms = analyze(keyword);
+        int offset = (int) Math.min((page - 1) * pageSize, MAX_WINDOW);
+        int limit = (int) Math.min(offset + pageSize, MAX_WINDOW);
+        if (terms.isEmpty() || offset >= limit) {
+            return new SearchResult(List.of(), 0L);
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER);
+        if (categoryId != null) {
+            builder.add(new TermQuery(new Term(FIELD_CATEGORY, categoryId.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (userId != null) {
+            builder.add(new TermQuery(new Term(FIELD_USER, userId.toString())), BooleanClause.Occur.FILTER);
+        }
+        for (String term : terms) {
+            Query termQuery = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(FIELD_TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(FIELD_CONTENT, term)), BooleanClause.Occur.SHOULD)
+                    .build();
+            builder.add(termQuery, BooleanClause.Occur.MUST);
+        }
+        Query query = builder.build();
+        Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(FIELD_CREATE_TIME, SortField.Type.LONG, true));
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit, sort);
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(query);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                    Document doc = storedFields.document(topDocs.scoreDocs[i].doc, Set.of(FIELD_ID));
+                    ids.add(doc.getField(FIELD_ID).numericValue().longValue());
+                }
+                return new SearchResult(ids, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Set<String> analyze(String keyword) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_CONTENT, keyword)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private void publish(String uid) {
+        try {
+            redisTemplate.convertAndSend(channel, uid);
+        } catch (Exception e) {
+            log.warn("广播索引变更失败，仅更新本地索引: {}, {}", uid, e.getMessage());
+            reindex(uid);
+        }
+    }
+
+    private void reindex(String uid) {
+        int separator = uid.indexOf(':');
+        String type = uid.substring(0, separator);
+        Long id = Long.valueOf(uid.substring(separator + 1));
+        try {
+            Document document = null;
+            if (NOTE.equals(type)) {
+                Note note = noteMapper.selectById(id);
+                if (note != null && Integer.valueOf(1).equals(note.getStatus())) {
+                    document = toDocument(note);
+                }
+            } else if (QUESTION.equals(type)) {
+                Question question = questionMapper.selectById(id);
+                if (question != null && Integer.valueOf(1).equals(question.getStatus())) {
+                    document = toDocument(question);
+                }
+            }
+            write(uid, document);
+        } catch (IOException e) {
+            log.error("更新全文索引失败: {}", uid, e);
+        }
+    }
+
+    /**
+     * 写入或删除一个文档。读锁保证写入时带上的代号不会在重建切换代号之后才落盘
+     */
+    private void write(String uid, Document document) throws IOException {
+        generationLock.readLock().lock();
+        try {
+            if (document == null) {
+                writer.deleteDocuments(new Term(FIELD_UID, uid));
+            } else {
+                document.add(new StringField(FIELD_GENERATION, generation, Field.Store.NO));
+                writer.updateDocument(new Term(FIELD_UID, uid), document);
+            }
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 重新加载 update_time 不早于上次进度的记录，补上丢失的广播。
+     * 向前多取 catch-up-overlap 毫秒，覆盖同步期间提交、update_time 却早于已读到的最大值的事务
+     */
+    private void catchUp() {
+        LocalDateTime since = syncedUpTo;
+        if (since == null) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            LocalDateTime from = since.minus(catchUpOverlapMillis, ChronoUnit.MILLIS);
+            SyncResult notes = syncNotes(from);
+            SyncResult questions = syncQuestions(from);
+            advanceSyncedUpTo(latest(since, latest(notes.lastUpdate(), questions.lastUpdate())));
+            log.debug("全文索引追平: 笔记 {} 条, 问题 {} 条, 已同步至 {}", notes.count(), questions.count(), syncedUpTo);
+        } catch (CancellationException e) {
+            log.info("应用关闭，中止全文索引追平");
+        } catch (IOException e) {
+            log.error("全文索引追平失败", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void advanceSyncedUpTo(LocalDateTime value) {
+        syncedUpTo = value;
+        writer.setLiveCommitData(Map.of(COMMIT_SYNCED_UP_TO, value.toString()).entrySet());
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private void checkNotClosing() {
+        if (closing) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * since 为 null 时全量扫描已发布的笔记；否则扫描 update_time 不早于 since 的笔记，未发布的从索引中删除
+     */
+    private SyncResult syncNotes(LocalDateTime since) throws IOException {
+        long count = 0;
+        LocalDateTime lastUpdate = null;
+        Long lastId = 0L;
+        while (true) {
+            checkNotClosing();
+            List<Note> batch = noteMapper.selectList(new LambdaQueryWrapper<Note>()
+                    .select(Note::getId, Note::getUserId, Note::getTitle, Note::getContent,
+                            Note::getCategoryId, Note::getStatus, Note::getCreateTime, Note::getUpdateTime)
+                    .eq(since == null, Note::getStatus, 1)
+                    .ge(since != null, Note::getUpdateTime, since)
+                    .gt(Note::getId, lastId)
+                    .orderByAsc(Note::getId)
+                    .last("LIMIT " + rebuildBatchSize));
+            if (batch.isEmpty()) {
+                return new SyncResult(count, lastUpdate);
+            }
+            for (Note note : batch) {
+                write(NOTE + ":" + note.getId(),
+                        Integer.valueOf(1).equals(note.getStatus()) ? toDocument(note) : null);
+                lastUpdate = latest(lastUpdate, note.getUpdateTime());
+            }
+            count += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private SyncResult syncQuestions(LocalDateTime since) throws IOException {
+        long count = 0;
+        LocalDateTime lastUpdate = null;
+        Long lastId = 0L;
+        while (true) {
+            checkNotClosing();
+            List<Question> batch = questionMapper.selectList(new LambdaQueryWrapper<Question>()
+                    .select(Question::getId, Question::getUserId, Question::getTitle, Question::getContent,
+                            Question::getStatus, Question::getCreateTime, Question::getUpdateTime)
+                    .eq(since == null, Question::getStatus, 1)
+                    .ge(since != null, Question::getUpdateTime, since)
+                    .gt(Question::getId, lastId)
+                    .orderByAsc(Question::getId)
+                    .last("LIMIT " + rebuildBatchSize));
+            if (batch.isEmpty()) {
+                return new SyncResult(count, lastUpdate);
+            }
+            for (Question question : batch) {
+                write(QUESTION + ":" + question.getId(),
+                        Integer.valueOf(1).equals(question.getStatus()) ? toDocument(question) : null);
+                lastUpdate = latest(lastUpdate, question.getUpdateTime());
+            }
+            count += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private record SyncResult(long count, LocalDateTime lastUpdate) {
+    }
+
+    private Document toDocument(Note note) {
+        Document document = baseDocument(NOTE, note.getId(), note.getUserId(), note.getTitle(),
+                note.getContent(), note.getCreateTime());
+        if (note.getCategoryId() != null) {
+            document.add(new StringField(FIELD_CATEGORY, note.getCategoryId().toString(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private Document toDocument(Question question) {
+        return baseDocument(QUESTION, question.getId(), question.getUserId(), question.getTitle(),
+                question.getContent(), question.getCreateTime());
+    }
+
+    private Document baseDocument(String type, Long id, Long userId, String title, String content, LocalDateTime createTime) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_UID, type + ":" + id, Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type, Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, id));
+        if (userId != null) {
+            document.add(new StringField(FIELD_USER, userId.toString(), Field.Store.NO));
+        }
+        document.add(new TextField(FIELD_TITLE, title == null ? "" : title, Field.Store.NO));
+        document.add(new TextField(FIELD_CONTENT, content == null ? "" : content, Field.Store.NO));
+        long createTimeMillis = createTime == null ? 0L
+                : createTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        document.add(new NumericDocValuesField(FIELD_CREATE_TIME, createTimeMillis));
+        return document;
+    }
+}
@@ -0,0 +1,154 @@
+package com.blog.service.impl;
+
+import com.blog.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 每个对象类型一组小时桶 trending:&lt;type&gt;:&lt;epochHour&gt;，写入时 ZINCRBY；
+ * refresh 用 ZUNIONSTORE 按 0.5^(age/halfLife) 加权合并窗口内的桶到快照，读取只需 ZREVRANGE。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final String NOTE = "note";
+    private static final String QUESTION = "question";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${blog.trending.window-hours:168}")
+    private int windowHours;
+
+    @Value("${blog.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${blog.trending.snapshot-size:1000}")
+    private int snapshotSize;
+
+    @Value("${blog.trending.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${blog.trending.weight.like:5}")
+    private double likeWeight;
+
+    @Value("${blog.trending.weight.answer:5}")
+    private double answerWeight;
+
+    @Override
+    public void recordNoteViews(Map<Long, Long> deltas) {
+        increment(NOTE, deltas, viewWeight);
+    }
+
+    @Override
+    public void recordNoteLike(Long noteId) {
+        increment(NOTE, Map.of(noteId, 1L), likeWeight);
+    }
+
+    @Override
+    public void recordQuestionViews(Map<Long, Long> deltas) {
+        increment(QUESTION, deltas, viewWeight);
+    }
+
+    @Override
+    public void recordAnswer(Long questionId) {
+        increment(QUESTION, Map.of(questionId, 1L), answerWeight);
+    }
+
+    @Override
+    public List<Long> topNoteIds(int limit) {
+        return top(NOTE, limit);
+    }
+
+    @Override
+    public List<Long> topQuestionIds(int limit) {
+        return top(QUESTION, limit);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval:60000}")
+    public void refresh() {
+        refresh(NOTE);
+        refresh(QUESTION);
+    }
+
+    private void increment(String type, Map<Long, Long> deltas, double weight) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String key = bucketKey(type, currentHour());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    // 回调拿到的就是 redisTemplate 本身
+                    RedisOperations<String, Object> template = (RedisOperations<String, Object>) operations;
+                    deltas.forEach((id, delta) ->
+                            template.opsForZSet().incrementScore(key, String.valueOf(id), delta * weight));
+                    template.expire(key, Duration.ofHours(windowHours + 1L));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("记录{}热度失败: {}", type, e.getMessage());
+        }
+    }
+
+    private List<Long> top(String type, int limit) {
+        Set<Object> members = redisTemplate.opsForZSet().reverseRange(snapshotKey(type), 0, limit - 1L);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return members.stream().map(member -> Long.valueOf(member.toString())).toList();
+    }
+
+    private void refresh(String type) {
+        long hour = currentHour();
+        List<String> keys = new ArrayList<>(windowHours);
+        double[] weights = new double[windowHours];
+        for (int age = 0; age < windowHours; age++) {
+            keys.add(bucketKey(type, hour - age));
+            weights[age] = Math.pow(0.5, age / halfLifeHours);
+        }
+        String snapshotKey = snapshotKey(type);
+        try {
+            // 不存在的桶按空集合处理，结果为空时 ZUNIONSTORE 会删除快照
+            redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()),
+                    snapshotKey, Aggregate.SUM, Weights.of(weights));
+            redisTemplate.opsForZSet().removeRange(snapshotKey, 0, -snapshotSize - 1L);
+        } catch (Exception e) {
+            log.warn("刷新{}热榜失败: {}", type, e.getMessage());
+        }
+    }
+
+    private long currentHour() {
+        return Instant.now().getEpochSecond() / 3600;
+    }
+
+    private String bucketKey(String type, long hour) {
+        return "trending:" + type + ":" + hour;
+    }
+
+    private String snapshotKey(String type) {
+        return "trending:" + type + ":snapshot";
+    }
+}
@@ -0,0 +1,203 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.common.BloomFilter;
+import com.blog.entity.User;
+import com.blog.mapper.UserMapper;
+import com.blog.service.UserExistenceFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 用户名、邮箱各一个布隆过滤器。未构建完成前一律回查数据库；
+ * 重建期间的新增同时写入新旧两个过滤器，保证不会漏判。
+ * 数据库排序规则不区分大小写，因此统一转小写后再哈希。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExistenceFilterImpl implements UserExistenceFilter, MessageListener {
+
+    private final UserMapper userMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.user-filter.channel:user:registered}")
+    private String channel;
+
+    @Value("${blog.user-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${blog.user-filter.fpp:0.01}")
+    private double fpp;
+
+    @Value("${blog.user-filter.max-bits:67108864}")
+    private long maxBits;
+
+    @Value("${blog.user-filter.rebuild-fpp:0.05}")
+    private double rebuildFpp;
+
+    @Value("${blog.user-filter.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Filters current;
+    private volatile Filters building;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        Gauge.builder("blog.user.filter.fpp", () -> current == null ? 1.0 : current.usernames().expectedFpp())
+                .tag("filter", "username").register(meterRegistry);
+        Gauge.builder("blog.user.filter.fpp", () -> current == null ? 1.0 : current.emails().expectedFpp())
+                .tag("filter", "email").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames().mightContain(normalize(username));
+    }
+
+    @Override
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails().mightContain(normalize(email));
+    }
+
+    @Override
+    public void add(String username, String email) {
+        putLocal(username, email);
+        try {
+            // Map.of 的实现类是 final，默认类型信息不会写入，接收端无法反序列化
+            Map<String, String> message = new HashMap<>();
+            message.put("username", username);
+            message.put("email", email);
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.warn("广播新用户失败: {}, {}", username, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body instanceof Map<?, ?> user) {
+            putLocal((String) user.get("username"), (String) user.get("email"));
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long userCount = userMapper.selectCount(null);
+        long capacity = Math.max(expectedInsertions, userCount * 2);
+        Filters next = new Filters(BloomFilter.create(capacity, fpp, maxBits), BloomFilter.create(capacity, fpp, maxBits));
+        building = next;
+        try {
+            long lastId = 0;
+            while (true) {
+                List<User> users = userMapper.selectList(new LambdaQueryWrapper<User>()
+                        .select(User::getId, User::getUsername, User::getEmail)
+                        .gt(User::getId, lastId)
+                        .orderByAsc(User::getId)
+                        .last("LIMIT " + rebuildBatchSize));
+                if (users.isEmpty()) {
+                    break;
+                }
+                users.forEach(user -> next.put(user.getUsername(), user.getEmail()));
+                lastId = users.get(users.size() - 1).getId();
+            }
+            current = next;
+            log.info("用户存在性过滤器已重建: {} 个用户, {} 位, 预估误判率 {}",
+                    userCount, next.usernames().bitSize(), String.format("%.4f", next.usernames().expectedFpp()));
+        } catch (Exception e) {
+            log.error("重建用户存在性过滤器失败，继续使用旧过滤器: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * 元素数超出预期导致误判率升高时按当前用户数扩容重建
+     */
+    @Scheduled(fixedDelayString = "${blog.user-filter.check-interval:600000}")
+    public void rebuildIfSaturated() {
+        Filters filters = current;
+        if (filters != null && Math.max(filters.usernames().expectedFpp(), filters.emails().expectedFpp()) > rebuildFpp) {
+            log.info("用户存在性过滤器误判率超过 {}，重建", rebuildFpp);
+            rebuild();
+        }
+    }
+
+    /**
+     * 注册广播经 Redis pub/sub 投递，丢失后其他节点会误判"可用"；定期全量重建兜底，
+     * 两次重建之间过滤器的否定结果仅作参考，唯一性仍由数据库唯一索引保证
+     */
+    @Scheduled(fixedDelayString = "${blog.user-filter.rebuild-interval:3600000}",
+            initialDelayString = "${blog.user-filter.rebuild-interval:3600000}")
+    public void scheduleRebuild() {
+        rebuild();
+    }
+
+    private void putLocal(String username, String email) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(username, email);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void put(String username, String email) {
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+            if (email != null) {
+                emails.put(normalize(email));
+            }
+        }
+    }
+}
@@ -1,49 +1,125 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.blog.entity.User;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.UserMapper;
+import com.blog.security.PasswordHasher;
+import com.blog.service.UserExistenceFilter;
 import com.blog.service.UserService;
+import com.blog.common.AfterCommit;
+import com.blog.dto.UserSummary;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
+public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService, MessageListener {
+
+    private final PasswordHasher passwordHasher;
+    private final UserExistenceFilter userExistenceFilter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TransactionTemplate transactionTemplate;
+    // 按参数名注入 Spring Boot 的 applicationTaskExecutor (开启虚拟线程时为虚拟线程执行器)
+    private final Executor applicationTaskExecutor;
+
+    @Value("${blog.user-cache.channel:user:changed}")
+    private String channel;
+
+    @Value("${blog.user-cache.maximum-size:10000}")
+    private long summaryMaximumSize;
+
+    @Value("${blog.user-cache.expire-after-write:10m}")
+    private Duration summaryExpireAfterWrite;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private AsyncLoadingCache<Long, UserSummary> userSummaries;
 
+    @PostConstruct
+    public void init() {
+        // 加载在调用线程执行；进行中的 future 先登记到缓存，并发请求同一 ID 共享同一次查询
+        userSummaries = Caffeine.newBuilder()
+                .maximumSize(summaryMaximumSize)
+                .expireAfterWrite(summaryExpireAfterWrite)
+                .executor(Runnable::run)
+                .buildAsync(new CacheLoader<Long, UserSummary>() {
+                    @Override
+                    public UserSummary load(Long userId) {
+                        return loadAll(Set.of(userId)).get(userId);
+                    }
+
+                    @Override
+                    public Map<Long, UserSummary> loadAll(Set<? extends Long> userIds) {
+                        return loadSummaries(userIds);
+                    }
+                });
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * 哈希线程池只做 BCrypt 计算；查重与插入切回应用任务执行器，在同一线程的同一个事务中完成
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public User register(String username, String password, String nickname, String email) {
-        if (checkUsernameExists(username)) {
+    public CompletableFuture<User> register(String username, String password, String nickname, String email) {
+        return passwordHasher.encode(password).thenApplyAsync(
+                encoded -> transactionTemplate.execute(status -> createUser(username, encoded, nickname, email)),
+                applicationTaskExecutor);
+    }
+
+    private User createUser(String username, String encodedPassword, String nickname, String email) {
+        // 注册走数据库精确校验，过滤器只用于输入时的预检
+        if (count(new LambdaQueryWrapper<User>().eq(User::getUsername, username)) > 0) {
             throw new BusinessException("用户名已存在");
         }
-        if (checkEmailExists(email)) {
+        if (count(new LambdaQueryWrapper<User>().eq(User::getEmail, email)) > 0) {
             throw new BusinessException("邮箱已被注册");
         }
 
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(encodedPassword);
         user.setNickname(nickname);
         user.setEmail(email);
         user.setStatus(1);
         user.setRole("USER");
 
-        save(user);
+        try {
+            save(user);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("用户名或邮箱已被注册");
+        }
+        AfterCommit.run(() -> userExistenceFilter.add(username, email));
         log.info("用户注册成功: {}", username);
         return user;
     }
 
     @Override
-    public User login(String username, String password) {
+    public CompletableFuture<User> login(String username, String password) {
         User user = getOne(new LambdaQueryWrapper<User>().eq(User::getUsername, username));
         if (user == null) {
             throw new BusinessException("用户不存在");
@@ -51,62 +127,144 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user.getStatus() == 0) {
             throw new BusinessException("账号已被禁用");
         }
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new BusinessException("密码错误");
-        }
-        log.info("用户登录成功: {}", username);
-        return user;
+        return passwordHasher.matches(password, user.getPassword()).thenApply(matched -> {
+            if (!matched) {
+                throw new BusinessException("密码错误");
+            }
+            log.info("用户登录成功: {}", username);
+            return user;
+        });
     }
 
     @Override
     public User getUserInfo(Long userId) {
-        User user = getById(userId);
+        User user = getOne(new LambdaQueryWrapper<User>()
+                .select(User.class, field -> !"password".equals(field.getColumn()))
+                .eq(User::getId, userId));
         if (user == null) {
             throw new BusinessException("用户不存在");
         }
-        user.setPassword(null);
         return user;
     }
 
+    @Override
+    public Map<Long, UserSummary> getUserSummaries(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userSummaries.getAll(userIds).join();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body != null) {
+            userSummaries.synchronous().invalidate(Long.valueOf(body.toString()));
+        }
+    }
+
     @Override
     public void updateUserInfo(User user) {
-        User currentUser = getById(user.getId());
+        User currentUser = getOne(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getUsername, User::getEmail)
+                .eq(User::getId, user.getId()));
         if (currentUser == null) {
             throw new BusinessException("用户不存在");
         }
-        if (!currentUser.getUsername().equals(user.getUsername())) {
-            if (checkUsernameExists(user.getUsername())) {
+        
+        // 与注册一致走数据库精确校验：过滤器的否定结果在广播丢失时可能不准
+        LambdaUpdateWrapper<User> wrapper = new LambdaUpdateWrapper<User>().eq(User::getId, user.getId());
+        boolean usernameChanged = user.getUsername() != null && !currentUser.getUsername().equals(user.getUsername());
+        if (usernameChanged) {
+            if (count(new LambdaQueryWrapper<User>().eq(User::getUsername, user.getUsername())) > 0) {
                 throw new BusinessException("用户名已存在");
             }
+            wrapper.set(User::getUsername, user.getUsername());
+        }
+        boolean emailChanged = user.getEmail() != null && !user.getEmail().equals(currentUser.getEmail());
+        if (emailChanged) {
+            if (count(new LambdaQueryWrapper<User>().eq(User::getEmail, user.getEmail())) > 0) {
+                throw new BusinessException("邮箱已被注册");
+            }
+            wrapper.set(User::getEmail, user.getEmail());
         }
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-        } else {
-            user.setPassword(null);
+            wrapper.set(User::getPassword, passwordHasher.encode(user.getPassword()).join());
+        }
+        wrapper.set(user.getNickname() != null, User::getNickname, user.getNickname());
+        wrapper.set(user.getAvatar() != null, User::getAvatar, user.getAvatar());
+        if (wrapper.getSqlSet() != null) {
+            try {
+                update(wrapper);
+            } catch (DuplicateKeyException e) {
+                throw new BusinessException("用户名已存在");
+            }
+            evictUserSummary(user.getId());
+        }
+        if (usernameChanged || emailChanged) {
+            AfterCommit.run(() -> userExistenceFilter.add(
+                    usernameChanged ? user.getUsername() : null, emailChanged ? user.getEmail() : null));
         }
-        updateById(user);
     }
 
     @Override
     public void changePassword(Long userId, String oldPassword, String newPassword) {
-        User user = getById(userId);
+        User user = getOne(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getPassword)
+                .eq(User::getId, userId));
         if (user == null) {
             throw new BusinessException("用户不存在");
         }
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHasher.matches(oldPassword, user.getPassword()).join()) {
             throw new BusinessException("原密码错误");
         }
-        user.setPassword(passwordEncoder.encode(newPassword));
-        updateById(user);
+        // 以旧哈希为条件，防止并发修改互相覆盖
+        boolean updated = update(new LambdaUpdateWrapper<User>()
+                .set(User::getPassword, passwordHasher.encode(newPassword).join())
+                .eq(User::getId, userId)
+                .eq(User::getPassword, user.getPassword()));
+        if (!updated) {
+            throw new BusinessException("密码已被修改，请重试");
+        }
+        evictUserSummary(userId);
     }
 
     @Override
     public boolean checkUsernameExists(String username) {
+        if (!userExistenceFilter.mightContainUsername(username)) {
+            return false;
+        }
         return count(new LambdaQueryWrapper<User>().eq(User::getUsername, username)) > 0;
     }
 
     @Override
     public boolean checkEmailExists(String email) {
+        if (!userExistenceFilter.mightContainEmail(email)) {
+            return false;
+        }
         return count(new LambdaQueryWrapper<User>().eq(User::getEmail, email)) > 0;
     }
+
+    private Map<Long, UserSummary> loadSummaries(Collection<? extends Long> userIds) {
+        return list(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getUsername, User::getNickname, User::getAvatar)
+                .in(User::getId, userIds))
+                .stream()
+                .collect(Collectors.toMap(User::getId,
+                        user -> new UserSummary(user.getId(), user.getUsername(), user.getNickname(), user.getAvatar())));
+    }
+
+    /**
+     * 提交后失效本地缓存并通知其他节点
+     */
+    private void evictUserSummary(Long userId) {
+        AfterCommit.run(() -> {
+            userSummaries.synchronous().invalidate(userId);
+            try {
+                redisTemplate.convertAndSend(channel, String.valueOf(userId));
+            } catch (Exception e) {
+                log.warn("广播用户信息变更失败: {}, {}", userId, e.getMessage());
+            }
+        });
+    }
 }
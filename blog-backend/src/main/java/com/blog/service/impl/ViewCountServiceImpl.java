@@ -0,0 +1,102 @@
+package com.blog.service.impl;
+
+import com.blog.common.CounterBuffer;
+import com.blog.mapper.NoteMapper;
+import com.blog.mapper.QuestionMapper;
+import com.blog.service.TrendingService;
+import com.blog.service.ViewCountService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCountServiceImpl implements ViewCountService {
+
+    private final NoteMapper noteMapper;
+    private final QuestionMapper questionMapper;
+    private final TrendingService trendingService;
+
+    private final CounterBuffer noteViews = new CounterBuffer();
+    private final CounterBuffer questionViews = new CounterBuffer();
+
+    @Value("${blog.view-count.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void recordNoteView(Long noteId) {
+        noteViews.increment(noteId);
+    }
+
+    @Override
+    public void recordQuestionView(Long questionId) {
+        questionViews.increment(questionId);
+    }
+
+    @Override
+    public long pendingNoteViews(Long noteId) {
+        return noteViews.pending(noteId);
+    }
+
+    @Override
+    public long pendingQuestionViews(Long questionId) {
+        return questionViews.pending(questionId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.view-count.flush-interval:5000}")
+    public void flush() {
+        flush("note", noteViews, noteMapper::batchIncrementViewCount, trendingService::recordNoteViews);
+        flush("question", questionViews, questionMapper::batchIncrementViewCount, trendingService::recordQuestionViews);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("应用关闭，刷新浏览量缓冲");
+        flush();
+    }
+
+    private void flush(String table, CounterBuffer buffer, Consumer<Map<Long, Long>> writer,
+                       Consumer<Map<Long, Long>> onFlushed) {
+        Map<Long, Long> deltas = buffer.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        for (Map<Long, Long> batch : partition(deltas)) {
+            try {
+                writer.accept(batch);
+                onFlushed.accept(batch);
+            } catch (Exception e) {
+                log.error("刷新{}浏览量失败，{} 条增量放回缓冲: {}", table, batch.size(), e.getMessage());
+                buffer.restore(batch);
+            }
+        }
+        log.debug("刷新{}浏览量: {} 条记录", table, deltas.size());
+    }
+
+    private List<Map<Long, Long>> partition(Map<Long, Long> deltas) {
+        List<Map<Long, Long>> batches = new ArrayList<>();
+        Map<Long, Long> current = new LinkedHashMap<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            current.put(entry.getKey(), entry.getValue());
+            if (current.size() >= batchSize) {
+                batches.add(current);
+                current = new LinkedHashMap<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+}
@@ -35,6 +35,8 @@ CREATE TABLE IF NOT EXISTS note (
     title VARCHAR(200) NOT NULL COMMENT '标题',
     content LONGTEXT NOT NULL COMMENT '内容(Markdown)',
     summary VARCHAR(500) DEFAULT NULL COMMENT '摘要',
+    excerpt VARCHAR(500) DEFAULT NULL COMMENT '正文摘录(自动生成)',
+    reading_minutes INT DEFAULT NULL COMMENT '预计阅读时长(分钟)',
     category_id BIGINT DEFAULT NULL COMMENT '分类ID',
     view_count INT DEFAULT 0 COMMENT '浏览量',
     like_count INT DEFAULT 0 COMMENT '点赞数',
@@ -45,6 +47,9 @@ CREATE TABLE IF NOT EXISTS note (
     INDEX idx_category_id (category_id),
     INDEX idx_status (status),
     INDEX idx_create_time (create_time),
+    INDEX idx_status_create_time (status, create_time, id),
+    INDEX idx_category_status_create_time (category_id, status, create_time, id),
+    INDEX idx_update_time (update_time, id),
     FOREIGN KEY (user_id) REFERENCES sys_user(id) ON DELETE CASCADE,
     FOREIGN KEY (category_id) REFERENCES category(id) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学习笔记表';
@@ -57,12 +62,15 @@ CREATE TABLE IF NOT EXISTS question (
     content LONGTEXT NOT NULL COMMENT '内容',
     view_count INT DEFAULT 0 COMMENT '浏览量',
     answer_count INT DEFAULT 0 COMMENT '回答数',
+    accepted_answer_id BIGINT DEFAULT NULL COMMENT '已采纳的回答ID',
     status TINYINT DEFAULT 1 COMMENT '状态: 0-草稿 1-已发布 2-已关闭 3-已删除',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX idx_user_id (user_id),
     INDEX idx_status (status),
     INDEX idx_create_time (create_time),
+    INDEX idx_status_create_time (status, create_time, id),
+    INDEX idx_update_time (update_time, id),
     FOREIGN KEY (user_id) REFERENCES sys_user(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='问题表';
 
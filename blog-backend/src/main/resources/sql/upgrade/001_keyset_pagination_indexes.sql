@@ -0,0 +1,6 @@
+-- 游标分页索引: 按 (create_time, id) 倒序 seek，已有数据库执行一次即可
+USE blog;
+
+ALTER TABLE note ADD INDEX idx_status_create_time (status, create_time, id);
+ALTER TABLE note ADD INDEX idx_category_status_create_time (category_id, status, create_time, id);
+ALTER TABLE question ADD INDEX idx_status_create_time (status, create_time, id);
@@ -0,0 +1,8 @@
+-- 问题表冗余已采纳回答ID，已有数据库执行一次即可
+USE blog;
+
+ALTER TABLE question ADD COLUMN accepted_answer_id BIGINT DEFAULT NULL COMMENT '已采纳的回答ID' AFTER answer_count;
+
+UPDATE question q
+    JOIN answer a ON a.question_id = q.id AND a.is_accepted = 1
+SET q.accepted_answer_id = a.id;
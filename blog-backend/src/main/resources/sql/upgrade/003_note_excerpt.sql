@@ -0,0 +1,7 @@
+-- 笔记自动摘录与阅读时长，已有数据库执行一次后由管理员触发回填:
+-- POST /api/admin/notes/excerpts/backfill
+USE blog;
+
+ALTER TABLE note
+    ADD COLUMN excerpt VARCHAR(500) DEFAULT NULL COMMENT '正文摘录(自动生成)' AFTER summary,
+    ADD COLUMN reading_minutes INT DEFAULT NULL COMMENT '预计阅读时长(分钟)' AFTER excerpt;
@@ -0,0 +1,5 @@
+-- 检索索引增量追平按 update_time 扫描，已有数据库执行一次即可
+USE blog;
+
+ALTER TABLE note ADD INDEX idx_update_time (update_time, id);
+ALTER TABLE question ADD INDEX idx_update_time (update_time, id);
@@ -0,0 +1,61 @@
+package com.blog.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsInsertedValuesAsAbsent() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 1L << 20);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i)).as("user%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 1L << 20);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFpp()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void bitSizeIsCappedAndWordAligned() {
+        BloomFilter capped = BloomFilter.create(1_000_000, 0.01, 1000);
+        assertThat(capped.bitSize()).isEqualTo(1024);
+
+        BloomFilter tiny = BloomFilter.create(0, 0.01, 1L << 20);
+        assertThat(tiny.bitSize()).isEqualTo(64);
+        assertThat(tiny.mightContain("anything")).isFalse();
+    }
+
+    @Test
+    void expectedFppGrowsWhenOverfilled() {
+        BloomFilter filter = BloomFilter.create(100, 0.01, 1L << 20);
+        for (int i = 0; i < 100; i++) {
+            filter.put("user" + i);
+        }
+        double atCapacity = filter.expectedFpp();
+        for (int i = 100; i < 1_000; i++) {
+            filter.put("user" + i);
+        }
+
+        assertThat(filter.expectedFpp()).isGreaterThan(atCapacity).isGreaterThan(0.5);
+    }
+}
@@ -0,0 +1,102 @@
+package com.blog.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CounterBufferTest {
+
+    @Test
+    void drainReturnsDeltasAndResets() {
+        CounterBuffer buffer = new CounterBuffer();
+        buffer.increment(1L);
+        buffer.increment(1L);
+        buffer.add(2L, 5L);
+
+        assertThat(buffer.drain()).containsOnly(Map.entry(1L, 2L), Map.entry(2L, 5L));
+        assertThat(buffer.pending(1L)).isZero();
+        assertThat(buffer.drain()).isEmpty();
+        // 两次刷新都没有增量的计数器被移除
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void restorePutsFailedDeltasBack() {
+        CounterBuffer buffer = new CounterBuffer();
+        buffer.add(1L, 3L);
+        Map<Long, Long> deltas = buffer.drain();
+        buffer.increment(1L);
+
+        buffer.restore(deltas);
+
+        assertThat(buffer.pending(1L)).isEqualTo(4L);
+    }
+
+    /**
+     * 写入线程分散在大量 id 上，多数计数器在刷新时为 0 并被移除，
+     * 与并发写入交错时不能丢失或重复任何增量
+     */
+    @Test
+    void concurrentIncrementsSurviveDrainAndRemoval() throws Exception {
+        CounterBuffer buffer = new CounterBuffer();
+        int writers = 4;
+        int incrementsPerWriter = 200_000;
+        int ids = 2_000;
+        long[][] written = new long[writers][ids];
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Map<Long, Long> drained = new HashMap<>();
+
+        Thread[] threads = new Thread[writers];
+        for (int w = 0; w < writers; w++) {
+            long[] counts = written[w];
+            threads[w] = new Thread(() -> {
+                await(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < incrementsPerWriter; i++) {
+                    int id = random.nextInt(ids);
+                    buffer.increment((long) id);
+                    counts[id]++;
+                }
+            });
+            threads[w].start();
+        }
+        Thread drainer = new Thread(() -> {
+            await(start);
+            while (writing.get()) {
+                buffer.drain().forEach((id, delta) -> drained.merge(id, delta, Long::sum));
+            }
+        });
+        drainer.start();
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writing.set(false);
+        drainer.join();
+        buffer.drain().forEach((id, delta) -> drained.merge(id, delta, Long::sum));
+
+        for (int id = 0; id < ids; id++) {
+            long expected = 0;
+            for (long[] counts : written) {
+                expected += counts[id];
+            }
+            assertThat(drained.getOrDefault((long) id, 0L)).as("id %d", id).isEqualTo(expected);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.blog.common;
+
+import com.blog.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void roundTripsCreateTimeAndId() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000), 42L);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertThat(decoded.getCreateTime()).isEqualTo(cursor.getCreateTime());
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+        String encoded = new Cursor(LocalDateTime.of(2024, 12, 31, 23, 59), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(Cursor.decode(null)).isNull();
+        assertThat(Cursor.decode("")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        String notBase64 = "not a cursor!";
+        String noSeparator = base64("2024-01-01T00:00");
+        String badTime = base64("yesterday_1");
+        String badId = base64("2024-01-01T00:00_abc");
+
+        for (String cursor : new String[]{notBase64, noSeparator, badTime, badId}) {
+            assertThatThrownBy(() -> Cursor.decode(cursor))
+                    .as(cursor)
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("code").isEqualTo(400);
+        }
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package com.blog.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownTextTest {
+
+    @Test
+    void stripsMarkdownSyntax() {
+        String markdown = """
+                # 标题
+
+                > 引用 **加粗** 与 *斜体*，~~删除线~~
+                - [链接](https://example.com) 和 ![图片](a.png)
+                - `inline code`
+
+                ```java
+                int hidden = 1;
+                ```
+                """;
+
+        assertThat(MarkdownText.toPlainText(markdown))
+                .isEqualTo("标题 引用 加粗 与 斜体，删除线 链接 和 图片 inline code");
+    }
+
+    @Test
+    void stripsUnderscoreEmphasisAtWordBoundaries() {
+        assertThat(MarkdownText.toPlainText("_斜体_ 与 __加粗__ 和 ___both___"))
+                .isEqualTo("斜体 与 加粗 和 both");
+        assertThat(MarkdownText.toPlainText("(_note_)")).isEqualTo("(note)");
+    }
+
+    @Test
+    void keepsUnderscoresInsideIdentifiers() {
+        assertThat(MarkdownText.toPlainText("字段 user_id_field 与 is__private 属性"))
+                .isEqualTo("字段 user_id_field 与 is__private 属性");
+        assertThat(MarkdownText.toPlainText("snake_case_name and MAX_RETRY_COUNT"))
+                .isEqualTo("snake_case_name and MAX_RETRY_COUNT");
+        assertThat(MarkdownText.toPlainText("中_文_字")).isEqualTo("中_文_字");
+    }
+
+    @Test
+    void excerptTruncatesByCodePoint() {
+        assertThat(MarkdownText.excerpt("短文本", 10)).isEqualTo("短文本");
+        assertThat(MarkdownText.excerpt("一二三四五六", 4)).isEqualTo("一二三…");
+        // 截断点落在代理对上时不拆开
+        assertThat(MarkdownText.excerpt("ab😀cd", 4)).isEqualTo("ab😀…");
+    }
+
+    @Test
+    void readingMinutesCountsCjkCharsAndWords() {
+        assertThat(MarkdownText.readingMinutes("")).isEqualTo(1);
+        assertThat(MarkdownText.readingMinutes("字".repeat(301))).isEqualTo(2);
+        assertThat(MarkdownText.readingMinutes("word ".repeat(401))).isEqualTo(3);
+    }
+}
@@ -0,0 +1,111 @@
+package com.blog.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(3);
+        properties.getDefaultLimit().setPeriod(Duration.ofHours(1));
+        RateLimitProperties.Profile auth = new RateLimitProperties.Profile();
+        auth.setName("auth");
+        auth.setPatterns(List.of("/api/auth/login"));
+        auth.setMethods(List.of("POST"));
+        auth.setCapacity(2);
+        auth.setPeriod(Duration.ofHours(1));
+        auth.setPerIp(true);
+        properties.setProfiles(List.of(auth));
+        filter = new RateLimitFilter(new LocalRateLimitBucketStore(properties), properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rotatingUnverifiedTokensSharesTheIpBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(send("GET", "/api/notes", "10.0.0.1", randomBearer())).isEqualTo(200);
+        }
+
+        assertThat(send("GET", "/api/notes", "10.0.0.1", randomBearer())).isEqualTo(429);
+        assertThat(send("GET", "/api/notes", "10.0.0.2", randomBearer())).isEqualTo(200);
+    }
+
+    @Test
+    void loginIsLimitedByIpEvenWithFakeTokens() throws Exception {
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1", randomBearer())).isEqualTo(200);
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1", randomBearer())).isEqualTo(200);
+
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1", randomBearer())).isEqualTo(429);
+    }
+
+    @Test
+    void loginIsLimitedByIpEvenWhenAuthenticated() throws Exception {
+        authenticate(1L);
+        send("POST", "/api/auth/login", "10.0.0.1", null);
+        authenticate(2L);
+        send("POST", "/api/auth/login", "10.0.0.1", null);
+
+        authenticate(3L);
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1", null)).isEqualTo(429);
+    }
+
+    @Test
+    void verifiedUsersGetTheirOwnBucket() throws Exception {
+        authenticate(42L);
+        for (int i = 0; i < 3; i++) {
+            assertThat(send("GET", "/api/notes", "10.0.0.1", null)).isEqualTo(200);
+        }
+        assertThat(send("GET", "/api/notes", "10.0.0.9", null)).isEqualTo(429);
+
+        // 同一 IP 上的其他用户与匿名请求不受影响
+        authenticate(43L);
+        assertThat(send("GET", "/api/notes", "10.0.0.1", null)).isEqualTo(200);
+        SecurityContextHolder.clearContext();
+        assertThat(send("GET", "/api/notes", "10.0.0.1", null)).isEqualTo(200);
+    }
+
+    private int send(String method, String uri, String remoteAddr, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NOOP_CHAIN);
+        return response.getStatus();
+    }
+
+    private static String randomBearer() {
+        return "Bearer " + UUID.randomUUID();
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.config;
+
+import com.blog.security.JwtUtils;
+import com.blog.support.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 经过完整过滤器链: 限流键取自 JwtAuthenticationFilter 校验后的身份，伪造令牌回落到 IP。
+ * 每个用例使用独立的来源 IP，不占用其他测试共享的 127.0.0.1 限额。
+ */
+class RateLimitIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void rotatingFakeTokensIsLimitedByIp() throws Exception {
+        // 令牌按秒贪婪补充，多发一些请求以抵消循环期间补充的令牌
+        long capacity = properties.getDefaultLimit().getCapacity();
+        int rejected = 0;
+        for (long i = 0; i < capacity + 20; i++) {
+            int status = mockMvc.perform(from("10.1.0.1", get("/api/notes/categories"))
+                            .header(HttpHeaders.AUTHORIZATION, fakeBearer()))
+                    .andReturn().getResponse().getStatus();
+            if (status == 429) {
+                rejected++;
+            }
+        }
+
+        assertThat(rejected).isPositive();
+        // 已登录用户按用户ID计数，不受同一 IP 上伪造令牌的影响
+        mockMvc.perform(from("10.1.0.1", get("/api/notes/categories"))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken(2L, "testuser", "USER")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void loginAttemptsWithFakeTokensAreLimitedByIp() throws Exception {
+        long capacity = properties.getProfiles().stream()
+                .filter(profile -> profile.getName().equals("auth"))
+                .findFirst().orElseThrow().getCapacity();
+        for (long i = 0; i < capacity; i++) {
+            mockMvc.perform(login("10.1.0.2")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(login("10.1.0.2")).andExpect(status().isTooManyRequests());
+    }
+
+    private MockHttpServletRequestBuilder login(String remoteAddr) {
+        return from(remoteAddr, post("/api/auth/login"))
+                .header(HttpHeaders.AUTHORIZATION, fakeBearer())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"testuser\",\"password\":\"wrong-password\"}");
+    }
+
+    private static MockHttpServletRequestBuilder from(String remoteAddr, MockHttpServletRequestBuilder builder) {
+        return builder.with(request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        });
+    }
+
+    private static String fakeBearer() {
+        return "Bearer " + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,74 @@
+package com.blog.mapper;
+
+import com.blog.support.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 浏览量、点赞数、回答数的写回不能改动 update_time，否则检索索引的增量追平会反复重建这些记录
+ */
+class CounterUpdateIntegrationTest extends IntegrationTestSupport {
+
+    private static final LocalDateTime EDITED = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private NoteMapper noteMapper;
+
+    @Autowired
+    private QuestionMapper questionMapper;
+
+    @Autowired
+    private AnswerMapper answerMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void resetUpdateTime() {
+        jdbcTemplate.update("UPDATE note SET update_time = ? WHERE id = 6", EDITED);
+        jdbcTemplate.update("UPDATE question SET update_time = ? WHERE id = 6", EDITED);
+        jdbcTemplate.update("UPDATE answer SET update_time = ? WHERE id = 5", EDITED);
+    }
+
+    @Test
+    void noteCounterFlushKeepsUpdateTime() {
+        assertThat(noteMapper.batchIncrementViewCount(Map.of(6L, 3L))).isEqualTo(1);
+        noteMapper.batchIncrementLikeCount(Map.of(6L, 2L));
+        noteMapper.incrementViewCount(6L);
+
+        assertThat(updateTime("note", 6)).isEqualTo(EDITED);
+        assertThat(jdbcTemplate.queryForObject("SELECT view_count FROM note WHERE id = 6", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void questionCounterUpdatesKeepUpdateTime() {
+        questionMapper.batchIncrementViewCount(Map.of(6L, 3L));
+        questionMapper.incrementViewCount(6L);
+        questionMapper.incrementAnswerCount(6L);
+        questionMapper.decrementAnswerCount(6L);
+        questionMapper.incrementAnswerCount(6L);
+        // 问题 6 没有回答，对账把 answer_count 改回 0
+        questionMapper.reconcileAnswerCount(6L, 7L);
+
+        assertThat(updateTime("question", 6)).isEqualTo(EDITED);
+        assertThat(jdbcTemplate.queryForObject("SELECT answer_count FROM question WHERE id = 6", Integer.class)).isZero();
+    }
+
+    @Test
+    void answerLikeFlushKeepsUpdateTime() {
+        answerMapper.batchIncrementLikeCount(Map.of(5L, 1L));
+
+        assertThat(updateTime("answer", 5)).isEqualTo(EDITED);
+    }
+
+    private LocalDateTime updateTime(String table, long id) {
+        return jdbcTemplate.queryForObject("SELECT update_time FROM " + table + " WHERE id = ?", LocalDateTime.class, id);
+    }
+}
@@ -0,0 +1,81 @@
+package com.blog.metrics;
+
+import com.blog.support.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QueryBudgetIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudgetProperties properties;
+
+    @Test
+    void noteListStaysWithinBudget() throws Exception {
+        int budget = properties.budgetFor("GET", "/api/notes");
+
+        // 首次请求缓存未命中，笔记、作者、分类都要查库
+        mockMvc.perform(get("/api/notes").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.records.length()").value(10))
+                .andExpect(jsonPath("$.data.records[0].user.nickname").value("管理员"))
+                .andExpect(jsonPath("$.data.records[1].user.nickname").value("Carol"))
+                .andExpect(jsonPath("$.data.records[1].category.name").value("前端开发"))
+                .andExpect(header().string("X-Query-Budget", String.valueOf(budget)))
+                .andExpect(queryCountBetween(1, budget))
+                .andExpect(header().doesNotExist("X-Query-Repeated"));
+    }
+
+    @Test
+    void questionListStaysWithinBudget() throws Exception {
+        int budget = properties.budgetFor("GET", "/api/questions");
+
+        mockMvc.perform(get("/api/questions").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.records.length()").value(6))
+                .andExpect(queryCountBetween(1, budget))
+                .andExpect(header().doesNotExist("X-Query-Repeated"));
+    }
+
+    @Test
+    void requestFailsWhenBudgetIsExceeded() throws Exception {
+        String route = "GET /api/notes/{id}";
+        Integer previous = properties.getRoutes().put(route, 0);
+        try {
+            mockMvc.perform(get("/api/notes/{id}", 3))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.code").value(500));
+        } finally {
+            if (previous == null) {
+                properties.getRoutes().remove(route);
+            } else {
+                properties.getRoutes().put(route, previous);
+            }
+        }
+
+        mockMvc.perform(get("/api/notes/{id}", 3))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("笔记 3"))
+                .andExpect(queryCountBetween(1, properties.budgetFor("GET", "/api/notes/{id}")));
+    }
+
+    private static ResultMatcher queryCountBetween(int min, int max) {
+        return result -> {
+            String count = result.getResponse().getHeader("X-Query-Count");
+            assertThat(count).as("X-Query-Count").isNotNull();
+            assertThat(Integer.parseInt(count)).isBetween(min, max);
+        };
+    }
+}
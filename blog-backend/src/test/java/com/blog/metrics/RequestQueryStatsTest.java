@@ -0,0 +1,80 @@
+package com.blog.metrics;
+
+import com.blog.exception.QueryBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestQueryStatsTest {
+
+    private static final String SELECT_USER = "SELECT id, nickname FROM sys_user WHERE id = ?";
+    private static final String SELECT_CATEGORY = "SELECT id, name FROM category WHERE id = ?";
+    private static final String SELECT_NOTES = "SELECT * FROM note LIMIT ?";
+
+    @AfterEach
+    void clear() {
+        RequestQueryStats.clear();
+    }
+
+    @Test
+    void repeatedStatementsCountsDistinctParametersPerSql() {
+        RequestQueryStats stats = RequestQueryStats.start("GET /api/notes", 20, false);
+        stats.record(SELECT_NOTES, "NoteMapper.selectPage", 1, 1000);
+        for (int userId = 1; userId <= 6; userId++) {
+            stats.record(SELECT_USER, "UserMapper.selectById", userId, 1000);
+        }
+        // 同一组参数重复执行只算一次
+        for (int i = 0; i < 8; i++) {
+            stats.record(SELECT_CATEGORY, "CategoryMapper.selectById", 7, 1000);
+        }
+
+        assertThat(stats.repeatedStatements(5))
+                .containsExactly(new RequestQueryStats.RepeatedStatement("UserMapper.selectById", 6, 6));
+        assertThat(stats.repeatedStatements(1)).extracting(RequestQueryStats.RepeatedStatement::statement)
+                .containsExactly("CategoryMapper.selectById", "UserMapper.selectById", "NoteMapper.selectPage");
+        assertThat(stats.getQueries()).isEqualTo(15);
+        assertThat(stats.getNanos()).isEqualTo(15_000);
+        assertThat(stats.isOverBudget()).isFalse();
+    }
+
+    @Test
+    void distinctParametersAreCappedButExecutionsAreNot() {
+        RequestQueryStats stats = RequestQueryStats.start("GET /api/notes", 1000, false);
+        for (int id = 0; id < 500; id++) {
+            stats.record(SELECT_USER, "UserMapper.selectById", id, 1);
+        }
+
+        RequestQueryStats.RepeatedStatement repeated = stats.repeatedStatements(5).get(0);
+        assertThat(repeated.executions()).isEqualTo(500);
+        assertThat(repeated.distinctParameters()).isEqualTo(256);
+    }
+
+    @Test
+    void failsBeforeTheQueryThatWouldExceedBudget() {
+        RequestQueryStats stats = RequestQueryStats.start("GET /api/notes", 2, true);
+        for (int i = 0; i < 2; i++) {
+            stats.beforeQuery("UserMapper.selectById");
+            stats.record(SELECT_USER, "UserMapper.selectById", i, 1);
+        }
+
+        assertThatThrownBy(() -> stats.beforeQuery("UserMapper.selectById"))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("GET /api/notes")
+                .hasMessageContaining("UserMapper.selectById");
+        assertThat(stats.isOverBudget()).isFalse();
+    }
+
+    @Test
+    void onlyRecordsOverBudgetWhenNotFailing() {
+        RequestQueryStats stats = RequestQueryStats.start("GET /api/notes", 1, false);
+        for (int i = 0; i < 3; i++) {
+            stats.beforeQuery("UserMapper.selectById");
+            stats.record(SELECT_USER, "UserMapper.selectById", i, 1);
+        }
+
+        assertThat(stats.isOverBudget()).isTrue();
+        assertThat(RequestQueryStats.current()).isSameAs(stats);
+    }
+}
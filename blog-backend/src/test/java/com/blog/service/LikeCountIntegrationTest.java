@@ -0,0 +1,62 @@
+package com.blog.service;
+
+import com.blog.security.JwtUtils;
+import com.blog.support.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 点赞先记在 Redis 中定期写回，读取时叠加未写回的增量，用户能立刻看到自己的点赞
+ */
+class LikeCountIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void noteLikeIsVisibleBeforeReconcile() throws Exception {
+        String token = bearer(3L, "alice");
+
+        mockMvc.perform(post("/api/notes/{id}/like", 5).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+
+        mockMvc.perform(get("/api/notes/{id}", 5))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.likeCount").value(1));
+
+        // 重复点赞不重复计数
+        mockMvc.perform(post("/api/notes/{id}/like", 5).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/notes/{id}", 5))
+                .andExpect(jsonPath("$.data.likeCount").value(1));
+    }
+
+    @Test
+    void answerLikeIsVisibleBeforeReconcile() throws Exception {
+        String token = bearer(4L, "bob");
+
+        mockMvc.perform(post("/api/answers/{id}/like", 4).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+
+        mockMvc.perform(get("/api/answers/question/{questionId}", 2).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.id == 4)].likeCount").value(1))
+                .andExpect(jsonPath("$.data[?(@.id == 3)].likeCount").value(0));
+    }
+
+    private String bearer(Long userId, String username) {
+        return "Bearer " + jwtUtils.generateToken(userId, username, "USER");
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.service;
+
+import com.blog.support.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PageCacheIntegrationTest extends IntegrationTestSupport {
+
+    private static final String INDEX_KEY = "cache:index:notes:page:1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    void defaultPageSizeIsCachedAndIndexed() throws Exception {
+        int miss = queryCount("10");
+        int hit = queryCount("10");
+
+        assertThat(hit).isLessThan(miss);
+        assertThat(redisTemplate.opsForSet().isMember(INDEX_KEY, "page:1:1:10")).isTrue();
+    }
+
+    @Test
+    void otherPageSizesBypassCache() throws Exception {
+        int first = queryCount("7");
+        int second = queryCount("7");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(redisTemplate.opsForSet().isMember(INDEX_KEY, "page:1:1:7")).isFalse();
+    }
+
+    private int queryCount(String pageSize) throws Exception {
+        String count = mockMvc.perform(get("/api/notes")
+                        .param("categoryId", "1")
+                        .param("page", "1")
+                        .param("pageSize", pageSize))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Query-Count");
+        return Integer.parseInt(count);
+    }
+}
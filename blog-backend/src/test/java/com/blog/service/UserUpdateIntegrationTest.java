@@ -0,0 +1,53 @@
+package com.blog.service;
+
+import com.blog.entity.User;
+import com.blog.exception.BusinessException;
+import com.blog.support.IntegrationTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 修改用户名后新名字要进入存在性过滤器，再次占用时返回业务错误而不是唯一索引冲突
+ */
+class UserUpdateIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserExistenceFilter userExistenceFilter;
+
+    @AfterEach
+    void restore() {
+        rename(5L, "carol");
+    }
+
+    @Test
+    void renamedUsernameIsAddedToFilter() {
+        rename(5L, "carol-renamed");
+
+        assertThat(userExistenceFilter.mightContainUsername("carol-renamed")).isTrue();
+        assertThat(userService.checkUsernameExists("carol-renamed")).isTrue();
+    }
+
+    @Test
+    void renamingToTakenUsernameIsRejected() {
+        rename(5L, "carol-taken");
+
+        assertThatThrownBy(() -> rename(4L, "carol-taken"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("用户名已存在");
+        assertThat(userService.getUserInfo(4L).getUsername()).isEqualTo("bob");
+    }
+
+    private void rename(Long userId, String username) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        userService.updateUserInfo(user);
+    }
+}
@@ -0,0 +1,119 @@
+package com.blog.support;
+
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * 集成测试基类: 完整启动应用，MySQL 换成 MySQL 兼容模式的 H2 内存库，Redis 换成内嵌 redis-server。
+ * 开启 SQL 预算的 fail-on-exceed，超出路由预算的请求直接失败；保留 Prometheus 导出以便测试管理端点。
+ * 所有子类使用相同配置，共享同一个应用上下文与同一份数据。
+ */
+@SpringBootTest(properties = {
+        "blog.query-budget.fail-on-exceed=true",
+        "blog.query-budget.headers=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(IntegrationTestSupport.EmbeddedRedisConfig.class)
+public abstract class IntegrationTestSupport {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:blog-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * init.sql 面向 MySQL，建库与切库语句在 H2 中没有对应物
+     */
+    private static final Pattern DATABASE_STATEMENT = Pattern.compile(
+            "(?im)^\\s*(CREATE\\s+DATABASE|USE)\\b[^;]*;");
+
+    /**
+     * MySQL 的索引名在表内唯一，H2 要求在整个 schema 内唯一，去掉名字交给 H2 生成
+     */
+    private static final Pattern INDEX_NAME = Pattern.compile("(?i)\\bINDEX\\s+\\w+\\s*\\(");
+
+    private static final RedisServer REDIS;
+    private static final int REDIS_PORT;
+    private static final Path WORK_DIR;
+
+    static {
+        try {
+            WORK_DIR = Files.createTempDirectory("blog-test");
+            REDIS_PORT = freePort();
+            REDIS = RedisServer.newRedisServer()
+                    .bind("127.0.0.1")
+                    .port(REDIS_PORT)
+                    .setting("save \"\"")
+                    .setting("appendonly no")
+                    .build();
+            REDIS.start();
+            try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+                ScriptUtils.executeSqlScript(connection,
+                        new EncodedResource(new ByteArrayResource(schemaScript()), StandardCharsets.UTF_8));
+                ScriptUtils.executeSqlScript(connection,
+                        new EncodedResource(new ClassPathResource("sql/test-data.sql"), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("初始化测试数据库失败", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.url", () -> JDBC_URL);
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", () -> REDIS_PORT);
+        registry.add("blog.search.index-dir", () -> WORK_DIR.resolve("search-index").toString());
+    }
+
+    /**
+     * 把内嵌 Redis 交给应用上下文管理，上下文关闭时在 Redis 客户端停止之后再停掉
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EmbeddedRedisConfig {
+
+        @Bean(destroyMethod = "stop")
+        RedisServer embeddedRedisServer() {
+            return REDIS;
+        }
+    }
+
+    private static byte[] schemaScript() throws IOException {
+        String script = new ClassPathResource("sql/init.sql").getContentAsString(StandardCharsets.UTF_8);
+        script = DATABASE_STATEMENT.matcher(script).replaceAll("");
+        script = INDEX_NAME.matcher(script).replaceAll("INDEX (");
+        return script.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
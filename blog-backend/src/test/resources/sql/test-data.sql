@@ -0,0 +1,35 @@
+-- 集成测试数据: 多个作者、分类下的笔记与带回答的问题，用于覆盖列表接口的批量装配 (N+1) 路径
+
+INSERT INTO sys_user (username, password, nickname, email, role) VALUES
+    ('alice', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'Alice', 'alice@blog.com', 'USER'),
+    ('bob', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'Bob', 'bob@blog.com', 'USER'),
+    ('carol', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'Carol', 'carol@blog.com', 'USER');
+
+INSERT INTO note (user_id, title, content, summary, category_id, status, create_time) VALUES
+    (1, '笔记 1', '# 正文 1', '摘要 1', 1, 1, '2024-01-01 10:00:00'),
+    (2, '笔记 2', '# 正文 2', '摘要 2', 2, 1, '2024-01-02 10:00:00'),
+    (3, '笔记 3', '# 正文 3', '摘要 3', 3, 1, '2024-01-03 10:00:00'),
+    (4, '笔记 4', '# 正文 4', '摘要 4', 4, 1, '2024-01-04 10:00:00'),
+    (5, '笔记 5', '# 正文 5', '摘要 5', 5, 1, '2024-01-05 10:00:00'),
+    (1, '笔记 6', '# 正文 6', '摘要 6', 2, 1, '2024-01-06 10:00:00'),
+    (2, '笔记 7', '# 正文 7', '摘要 7', 3, 1, '2024-01-07 10:00:00'),
+    (3, '笔记 8', '# 正文 8', '摘要 8', 4, 1, '2024-01-08 10:00:00'),
+    (4, '笔记 9', '# 正文 9', '摘要 9', 5, 1, '2024-01-09 10:00:00'),
+    (5, '笔记 10', '# 正文 10', '摘要 10', 1, 1, '2024-01-10 10:00:00'),
+    (1, '笔记 11', '# 正文 11', '摘要 11', NULL, 1, '2024-01-11 10:00:00'),
+    (2, '草稿', '# 草稿', NULL, 1, 0, '2024-01-12 10:00:00');
+
+INSERT INTO question (user_id, title, content, answer_count, status, create_time) VALUES
+    (1, '问题 1', '内容 1', 2, 1, '2024-02-01 10:00:00'),
+    (2, '问题 2', '内容 2', 3, 1, '2024-02-02 10:00:00'),
+    (3, '问题 3', '内容 3', 0, 1, '2024-02-03 10:00:00'),
+    (4, '问题 4', '内容 4', 0, 1, '2024-02-04 10:00:00'),
+    (5, '问题 5', '内容 5', 0, 1, '2024-02-05 10:00:00'),
+    (1, '问题 6', '内容 6', 0, 1, '2024-02-06 10:00:00');
+
+INSERT INTO answer (question_id, user_id, content) VALUES
+    (1, 2, '回答 1'),
+    (1, 3, '回答 2'),
+    (2, 1, '回答 3'),
+    (2, 4, '回答 4'),
+    (2, 5, '回答 5');
@@ -0,0 +1,107 @@
+package com.blog.benchmark;
+
+import com.blog.common.MarkdownText;
+import com.blog.dto.NoteListItem;
+import com.blog.dto.UserSummary;
+import com.blog.entity.Category;
+import com.blog.entity.Note;
+import com.blog.entity.Question;
+
+import java.time.LocalDateTime;
+
+/**
+ * 基准测试用的固定样本数据，字段长度接近线上常见内容
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    static final long JWT_EXPIRATION = 86_400_000L;
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static String markdown(int paragraphs) {
+        StringBuilder sb = new StringBuilder("# Spring Boot 性能调优笔记\n\n");
+        for (int i = 0; i < paragraphs; i++) {
+            sb.append("## 第").append(i + 1).append("节\n\n")
+                    .append("在高并发场景下，**连接池**与`线程池`的大小需要结合 [压测结果](https://example.com) 调整。")
+                    .append("Redis 缓存可以显著降低数据库压力，但要注意缓存穿透与雪崩。\n\n")
+                    .append("```java\nlong start = System.nanoTime();\n```\n\n");
+        }
+        return sb.toString();
+    }
+
+    static UserSummary user(long id) {
+        return new UserSummary(id, "user" + id, "用户" + id, "https://example.com/avatar/" + id + ".png");
+    }
+
+    static Category category(long id) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName("分类" + id);
+        category.setCreateTime(TIME);
+        category.setUpdateTime(TIME);
+        category.setNoteCount(128L);
+        return category;
+    }
+
+    static Note note(long id) {
+        String content = markdown(12);
+        String plainText = MarkdownText.toPlainText(content);
+        Note note = new Note();
+        note.setId(id);
+        note.setUserId(id % 50 + 1);
+        note.setTitle("Spring Boot 性能调优笔记 #" + id);
+        note.setContent(content);
+        note.setSummary("连接池、线程池与缓存的调优经验");
+        note.setExcerpt(MarkdownText.excerpt(plainText, 200));
+        note.setReadingMinutes(MarkdownText.readingMinutes(plainText));
+        note.setCategoryId(id % 8 + 1);
+        note.setViewCount(1024);
+        note.setLikeCount(64);
+        note.setStatus(1);
+        note.setCreateTime(TIME);
+        note.setUpdateTime(TIME);
+        note.setUser(user(note.getUserId()));
+        note.setCategory(category(note.getCategoryId()));
+        return note;
+    }
+
+    static NoteListItem noteListItem(long id) {
+        Note note = note(id);
+        NoteListItem item = new NoteListItem();
+        item.setId(note.getId());
+        item.setUserId(note.getUserId());
+        item.setTitle(note.getTitle());
+        item.setSummary(note.getSummary());
+        item.setExcerpt(note.getExcerpt());
+        item.setReadingMinutes(note.getReadingMinutes());
+        item.setCategoryId(note.getCategoryId());
+        item.setViewCount(note.getViewCount());
+        item.setLikeCount(note.getLikeCount());
+        item.setStatus(note.getStatus());
+        item.setCreateTime(note.getCreateTime());
+        item.setUpdateTime(note.getUpdateTime());
+        item.setUser(note.getUser());
+        item.setCategory(note.getCategory());
+        return item;
+    }
+
+    static Question question(long id) {
+        Question question = new Question();
+        question.setId(id);
+        question.setUserId(id % 50 + 1);
+        question.setTitle("如何定位接口 P99 延迟抖动？#" + id);
+        question.setContent(markdown(4));
+        question.setViewCount(512);
+        question.setAnswerCount(6);
+        question.setStatus(1);
+        question.setCreateTime(TIME);
+        question.setUpdateTime(TIME);
+        question.setUser(user(question.getUserId()));
+        return question;
+    }
+}
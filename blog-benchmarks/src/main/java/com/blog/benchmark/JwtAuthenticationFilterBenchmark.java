@@ -0,0 +1,57 @@
+package com.blog.benchmark;
+
+import com.blog.security.JwtAuthenticationFilter;
+import com.blog.security.JwtUtils;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个请求都会经过的 JWT 过滤器：带 token 与匿名两种情况
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        JwtUtils jwtUtils = JwtUtilsBenchmark.jwtUtils(10_000);
+        filter = new JwtAuthenticationFilter(jwtUtils);
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/notes");
+        authenticatedRequest.addHeader("Authorization",
+                "Bearer " + jwtUtils.generateToken(42L, "benchmark", "USER"));
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/notes");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void authenticated() throws Exception {
+        try {
+            filter.doFilter(authenticatedRequest, response, NOOP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public void anonymous() throws Exception {
+        filter.doFilter(anonymousRequest, response, NOOP_CHAIN);
+    }
+}
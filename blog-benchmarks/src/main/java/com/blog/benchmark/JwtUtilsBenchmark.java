@@ -0,0 +1,56 @@
+package com.blog.benchmark;
+
+import com.blog.security.JwtPrincipal;
+import com.blog.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签发与解析。uncached 使用容量为 0 的身份缓存，每次都走完整的验签流程
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils cachedJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedJwtUtils = jwtUtils(10_000);
+        uncachedJwtUtils = jwtUtils(0);
+        token = cachedJwtUtils.generateToken(42L, "benchmark", "USER");
+    }
+
+    static JwtUtils jwtUtils(long cacheMaximumSize) {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "secret", Fixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "expiration", Fixtures.JWT_EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtils, "cacheMaximumSize", cacheMaximumSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtils.generateToken(42L, "benchmark", "USER");
+    }
+
+    @Benchmark
+    public JwtPrincipal parseTokenCached() {
+        return cachedJwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal parseTokenUncached() {
+        return uncachedJwtUtils.parseToken(token);
+    }
+}
@@ -0,0 +1,150 @@
+package com.blog.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.blog.metrics.SqlLogProperties;
+import com.blog.metrics.SqlLogger;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次列表请求产生的日志开销 (4 条 SQL，每条返回 10 行):
+ * stdout-debug 为原配置，JWT 过滤器的 debug 日志同步写控制台，MyBatis StdOutImpl 逐行 println 语句、参数与结果行；
+ * async-json-sampled 为 prod profile，debug 关闭，SQL 按 0.1% 抽样，经有界队列异步写 JSON；
+ * async-json-every-query 同为异步 JSON，但每条 SQL 都记录，代表慢 SQL 集中出现时的开销。
+ * 输出写到 /dev/null，测量的是请求线程上的格式化、加锁与系统调用
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final int STATEMENTS = 4;
+    private static final int ROWS = 10;
+    private static final long QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String SQL = "SELECT id, user_id, category_id, title, summary, view_count, like_count, "
+            + "create_time FROM note WHERE deleted = 0 AND status = ? ORDER BY create_time DESC LIMIT ?";
+    private static final String COLUMNS = "id, user_id, category_id, title, summary, view_count, like_count, create_time";
+
+    @Param({"stdout-debug", "async-json-sampled", "async-json-every-query"})
+    private String mode;
+
+    private LoggerContext context;
+    private PrintStream stdout;
+    private Logger filterLog;
+    private SqlLogger sqlLogger;
+    private String[] rows;
+
+    @Setup
+    public void setup() throws FileNotFoundException {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        filterLog = LoggerFactory.getLogger("com.blog.security.JwtAuthenticationFilter");
+        rows = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = (i + 1) + ", 42, 3, 笔记标题 " + i + ", 摘要摘要摘要摘要, 1024, 17, 2024-01-01 12:00:00.0";
+        }
+
+        if (mode.equals("stdout-debug")) {
+            // System.out 同样是 autoflush 的 PrintStream，每次 println 一次 write 调用
+            stdout = new PrintStream(new BufferedOutputStream(devNull(), 8192), true, StandardCharsets.UTF_8);
+            context.getLogger("com.blog").setLevel(Level.DEBUG);
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [%15.15t] %-40.40logger{39} : %m%n");
+            rootAppender(streamAppender("CONSOLE", encoder));
+        } else {
+            context.getLogger("com.blog").setLevel(Level.INFO);
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1024);
+            async.setNeverBlock(true);
+            async.addAppender(streamAppender("JSON", new JsonEncoder()));
+            async.start();
+            rootAppender(async);
+        }
+
+        SqlLogProperties properties = new SqlLogProperties();
+        properties.setSlowThreshold(Duration.ofMillis(200));
+        properties.setSampleRate(mode.equals("async-json-every-query") ? 1.0 : 0.001);
+        sqlLogger = new SqlLogger(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        if (stdout != null) {
+            stdout.close();
+        }
+    }
+
+    @Benchmark
+    public void request() {
+        filterLog.debug("用户 {} 已认证，角色: {}", "benchmark", "USER");
+        for (int i = 0; i < STATEMENTS; i++) {
+            if (stdout != null) {
+                stdOutImpl(i);
+            } else if (sqlLogger.shouldLog(QUERY_NANOS)) {
+                sqlLogger.log("NoteMapper.selectPage", SQL, QUERY_NANOS);
+            }
+        }
+    }
+
+    /**
+     * 与 MyBatis 的 ConnectionLogger / PreparedStatementLogger / ResultSetLogger 经 StdOutImpl 打印的内容一致
+     */
+    private void stdOutImpl(int statement) {
+        stdout.println("==>  Preparing: " + SQL);
+        stdout.println("==> Parameters: 1(Integer), " + (10 + statement) + "(Long)");
+        stdout.println("<==    Columns: " + COLUMNS);
+        for (String row : rows) {
+            stdout.println("<==        Row: " + row);
+        }
+        stdout.println("<==      Total: " + ROWS);
+    }
+
+    private OutputStreamAppender<ILoggingEvent> streamAppender(String name, Encoder<ILoggingEvent> encoder) throws FileNotFoundException {
+        encoder.setContext(context);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(devNull());
+        appender.start();
+        return appender;
+    }
+
+    private void rootAppender(Appender<ILoggingEvent> appender) {
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    private static OutputStream devNull() throws FileNotFoundException {
+        File file = new File("/dev/null");
+        return file.exists() ? new FileOutputStream(file) : OutputStream.nullOutputStream();
+    }
+}
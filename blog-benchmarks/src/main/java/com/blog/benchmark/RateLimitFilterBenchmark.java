@@ -0,0 +1,83 @@
+package com.blog.benchmark;
+
+import com.blog.config.LocalRateLimitBucketStore;
+import com.blog.config.RateLimitFilter;
+import com.blog.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地令牌桶限流：同一客户端反复命中，以及大量不同 IP 轮流访问。
+ * 容量设得足够大，测量的是放行路径
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final long UNLIMITED = 1_000_000_000L;
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"10000"})
+    private int clientCount;
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String[] addresses;
+    private int next;
+
+    @Setup
+    public void setup() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(UNLIMITED);
+        properties.getDefaultLimit().setPeriod(Duration.ofHours(1));
+        properties.setProfiles(List.of(
+                profile("auth", List.of("/api/auth/login", "/api/auth/register"), List.of("POST")),
+                profile("write", List.of(), List.of("POST", "PUT", "DELETE"))));
+        filter = new RateLimitFilter(new LocalRateLimitBucketStore(properties), properties,
+                new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/notes");
+        response = new MockHttpServletResponse();
+        addresses = new String[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            addresses[i] = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    private static RateLimitProperties.Profile profile(String name, List<String> patterns, List<String> methods) {
+        RateLimitProperties.Profile profile = new RateLimitProperties.Profile();
+        profile.setName(name);
+        profile.setPatterns(patterns);
+        profile.setMethods(methods);
+        profile.setCapacity(UNLIMITED);
+        profile.setPeriod(Duration.ofHours(1));
+        return profile;
+    }
+
+    @Benchmark
+    public void singleClient() throws Exception {
+        request.setRemoteAddr("10.0.0.1");
+        filter.doFilter(request, response, NOOP_CHAIN);
+    }
+
+    @Benchmark
+    public void manyClients() throws Exception {
+        request.setRemoteAddr(addresses[next]);
+        next = next + 1 == addresses.length ? 0 : next + 1;
+        filter.doFilter(request, response, NOOP_CHAIN);
+    }
+}
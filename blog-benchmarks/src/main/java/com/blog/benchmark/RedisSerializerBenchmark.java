@@ -0,0 +1,56 @@
+package com.blog.benchmark;
+
+import com.blog.config.RedisConfig;
+import com.blog.entity.Note;
+import com.blog.entity.Question;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存读写使用的 Redis 值序列化器，带类型信息的 JSON 往返
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private Jackson2JsonRedisSerializer<Object> serializer;
+    private Note note;
+    private Question question;
+    private byte[] noteBytes;
+    private byte[] questionBytes;
+
+    @Setup
+    public void setup() {
+        serializer = RedisConfig.jsonRedisSerializer();
+        note = Fixtures.note(1);
+        question = Fixtures.question(1);
+        noteBytes = serializer.serialize(note);
+        questionBytes = serializer.serialize(question);
+    }
+
+    @Benchmark
+    public byte[] serializeNote() {
+        return serializer.serialize(note);
+    }
+
+    @Benchmark
+    public Object deserializeNote() {
+        return serializer.deserialize(noteBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeQuestion() {
+        return serializer.serialize(question);
+    }
+
+    @Benchmark
+    public Object deserializeQuestion() {
+        return serializer.deserialize(questionBytes);
+    }
+}
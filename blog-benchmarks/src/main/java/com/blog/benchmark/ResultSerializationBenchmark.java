@@ -0,0 +1,57 @@
+package com.blog.benchmark;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.common.Result;
+import com.blog.dto.NoteListItem;
+import com.blog.entity.Note;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口响应的 JSON 序列化：笔记列表分页与笔记详情。
+ * ObjectMapper 与 Spring MVC 默认配置一致
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Result<Page<NoteListItem>> notePage;
+    private Result<Note> noteDetail;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<NoteListItem> records = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            records.add(Fixtures.noteListItem(i));
+        }
+        Page<NoteListItem> page = new Page<>(1, pageSize, 1000);
+        page.setRecords(records);
+        notePage = Result.success(page);
+        noteDetail = Result.success(Fixtures.note(1));
+    }
+
+    @Benchmark
+    public byte[] notePage() throws Exception {
+        return objectMapper.writeValueAsBytes(notePage);
+    }
+
+    @Benchmark
+    public byte[] noteDetail() throws Exception {
+        return objectMapper.writeValueAsBytes(noteDetail);
+    }
+}
@@ -18,6 +18,10 @@ export const getNoteList = (params: {
   return get<NotePageResult>('/notes', { params })
 }
 
+export const getTrendingNotes = (limit = 10) => {
+  return get<Note[]>('/notes/trending', { params: { limit } })
+}
+
 export const getNoteById = (id: number) => {
   return get<Note>(`/notes/${id}`)
 }
@@ -9,6 +9,10 @@ export const getQuestionList = (params: {
   return get<{ records: Question[], total: number }>('/questions', { params })
 }
 
+export const getTrendingQuestions = (limit = 10) => {
+  return get<Question[]>('/questions/trending', { params: { limit } })
+}
+
 export const getQuestionById = (id: number) => {
   return get<Question>(`/questions/${id}`)
 }
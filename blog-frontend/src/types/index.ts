@@ -9,12 +9,21 @@ export interface User {
   updateTime: string
 }
 
+export interface UserSummary {
+  id: number
+  username: string
+  nickname: string
+  avatar?: string
+}
+
 export interface Note {
   id: number
   userId: number
   title: string
   content: string
   summary: string
+  excerpt?: string
+  readingMinutes?: number
   categoryId: number
   categoryName?: string
   viewCount: number
@@ -22,12 +31,13 @@ export interface Note {
   status: number
   createTime: string
   updateTime: string
-  user?: User
+  user?: UserSummary
 }
 
 export interface Category {
   id: number
   name: string
+  noteCount?: number
   createTime: string
   updateTime: string
 }
@@ -42,7 +52,7 @@ export interface Question {
   status: number
   createTime: string
   updateTime: string
-  user?: User
+  user?: UserSummary
   answers?: Answer[]
 }
 
@@ -55,7 +65,7 @@ export interface Answer {
   isAccepted: boolean
   createTime: string
   updateTime: string
-  user?: User
+  user?: UserSummary
 }
 
 export interface LoginForm {
@@ -0,0 +1,12 @@
+package com.blog.loadtest;
+
+import java.util.List;
+
+/**
+ * 预置数据的范围，场景据此挑选存在的 ID 与账号
+ */
+record Corpus(List<String> usernames, String password,
+              long minNoteId, long maxNoteId,
+              long minQuestionId, long maxQuestionId,
+              int answers) {
+}
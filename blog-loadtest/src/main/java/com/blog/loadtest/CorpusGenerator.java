@@ -0,0 +1,178 @@
+package com.blog.loadtest;
+
+import com.blog.common.MarkdownText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 启动应用前直接用 JDBC 批量写入用户、笔记、问题与回答
+ */
+@Slf4j
+class CorpusGenerator {
+
+    static final String PASSWORD = "loadtest123";
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int CATEGORY_COUNT = 8;
+
+    private static final int EXCERPT_LENGTH = 200;
+
+    private final LoadTestOptions options;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    CorpusGenerator(LoadTestOptions options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    Corpus generate(Connection connection) throws SQLException {
+        long start = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        List<String> usernames = insertUsers(connection);
+        long[] userIds = selectIds(connection, "sys_user");
+        long[] noteIds = insertNotes(connection, userIds);
+        long[] questionIds = insertQuestions(connection, userIds);
+        int answers = insertAnswers(connection, userIds, questionIds);
+        connection.commit();
+        log.info("预置数据完成: 用户 {}，笔记 {}，问题 {}，回答 {}，耗时 {} ms",
+                usernames.size(), noteIds.length, questionIds.length, answers, System.currentTimeMillis() - start);
+        return new Corpus(usernames, PASSWORD,
+                noteIds[0], noteIds[noteIds.length - 1],
+                questionIds[0], questionIds[questionIds.length - 1],
+                answers);
+    }
+
+    private List<String> insertUsers(Connection connection) throws SQLException {
+        // 所有预置账号共用一个哈希，避免生成数据时跑上百次 BCrypt
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<String> usernames = new ArrayList<>(options.users());
+        String sql = "INSERT INTO sys_user (username, password, nickname, email, role) VALUES (?, ?, ?, ?, 'USER')";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.users(); i++) {
+                String username = "lt_user_" + i;
+                ps.setString(1, username);
+                ps.setString(2, hash);
+                ps.setString(3, "压测用户" + i);
+                ps.setString(4, username + "@loadtest.local");
+                addBatch(ps, i);
+                usernames.add(username);
+            }
+            ps.executeBatch();
+        }
+        return usernames;
+    }
+
+    private long[] insertNotes(Connection connection, long[] userIds) throws SQLException {
+        String sql = "INSERT INTO note (user_id, title, content, summary, excerpt, reading_minutes, category_id, "
+                + "view_count, like_count, status, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.notes(); i++) {
+                String content = CorpusText.markdown(random, 3, 15);
+                String plainText = MarkdownText.toPlainText(content);
+                Timestamp createTime = pastTime();
+                ps.setLong(1, pick(userIds));
+                ps.setString(2, CorpusText.title(random, " 学习笔记"));
+                ps.setString(3, content);
+                ps.setString(4, CorpusText.sentence(random));
+                ps.setString(5, MarkdownText.excerpt(plainText, EXCERPT_LENGTH));
+                ps.setInt(6, MarkdownText.readingMinutes(plainText));
+                ps.setLong(7, 1 + random.nextInt(CATEGORY_COUNT));
+                ps.setInt(8, random.nextInt(5000));
+                ps.setInt(9, random.nextInt(200));
+                // 少量草稿，列表查询需要过滤
+                ps.setInt(10, random.nextInt(20) == 0 ? 0 : 1);
+                ps.setTimestamp(11, createTime);
+                ps.setTimestamp(12, createTime);
+                addBatch(ps, i);
+            }
+            ps.executeBatch();
+        }
+        return selectIds(connection, "note");
+    }
+
+    private long[] insertQuestions(Connection connection, long[] userIds) throws SQLException {
+        String sql = "INSERT INTO question (user_id, title, content, view_count, status, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, 1, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.questions(); i++) {
+                Timestamp createTime = pastTime();
+                ps.setLong(1, pick(userIds));
+                ps.setString(2, CorpusText.title(random, " 相关问题"));
+                ps.setString(3, CorpusText.markdown(random, 1, 4));
+                ps.setInt(4, random.nextInt(3000));
+                ps.setTimestamp(5, createTime);
+                ps.setTimestamp(6, createTime);
+                addBatch(ps, i);
+            }
+            ps.executeBatch();
+        }
+        return selectIds(connection, "question");
+    }
+
+    private int insertAnswers(Connection connection, long[] userIds, long[] questionIds) throws SQLException {
+        String insertAnswer = "INSERT INTO answer (question_id, user_id, content, like_count) VALUES (?, ?, ?, ?)";
+        String updateCount = "UPDATE question SET answer_count = ? WHERE id = ?";
+        int total = 0;
+        try (PreparedStatement answers = connection.prepareStatement(insertAnswer);
+             PreparedStatement counts = connection.prepareStatement(updateCount)) {
+            for (int q = 0; q < questionIds.length; q++) {
+                int count = random.nextInt(options.answersPerQuestion() * 2 + 1);
+                for (int i = 0; i < count; i++) {
+                    answers.setLong(1, questionIds[q]);
+                    answers.setLong(2, pick(userIds));
+                    answers.setString(3, CorpusText.markdown(random, 1, 5));
+                    answers.setInt(4, random.nextInt(50));
+                    addBatch(answers, total++);
+                }
+                counts.setInt(1, count);
+                counts.setLong(2, questionIds[q]);
+                addBatch(counts, q);
+            }
+            answers.executeBatch();
+            counts.executeBatch();
+        }
+        return total;
+    }
+
+    private long[] selectIds(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id FROM " + table + " ORDER BY id")) {
+            List<Long> ids = new ArrayList<>();
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalStateException(table + " 表没有数据，检查 --users/--notes/--questions 参数");
+            }
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    private void addBatch(PreparedStatement ps, int index) throws SQLException {
+        ps.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            ps.executeBatch();
+        }
+    }
+
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private Timestamp pastTime() {
+        return Timestamp.valueOf(now.minusMinutes(random.nextInt(180 * 24 * 60)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.blog.loadtest;
+
+import java.util.Random;
+
+/**
+ * 由固定语料拼出的 Markdown 文本，同一个种子生成的内容完全相同
+ */
+final class CorpusText {
+
+    private static final String[] TOPICS = {
+            "Spring Boot", "MyBatis-Plus", "Redis", "MySQL 索引", "JVM 调优", "Vue 3", "TypeScript",
+            "Docker", "Kubernetes", "消息队列", "分布式锁", "限流算法", "缓存一致性", "Nginx", "Git 工作流"
+    };
+
+    private static final String[] SENTENCES = {
+            "在高并发场景下，连接池与线程池的大小需要结合压测结果调整。",
+            "缓存可以显著降低数据库压力，但要注意缓存穿透、击穿与雪崩。",
+            "联合索引遵循最左前缀原则，排序字段最好也包含在索引中。",
+            "深分页会扫描大量无用的行，可以改用基于游标的分页。",
+            "事务中不要做远程调用，否则锁持有时间会被网络延迟放大。",
+            "GC 日志是排查延迟抖动的第一手资料，先确认停顿时间再谈调优。",
+            "接口的 P99 往往比平均值更能反映用户的真实体验。",
+            "批量写入比逐条写入少了大量往返，吞吐通常能提升一个数量级。",
+            "组件拆分要以复用和职责为边界，而不是单纯按页面区域划分。",
+            "类型定义与后端 DTO 保持一致，可以在编译期发现大部分字段错误。"
+    };
+
+    private static final String[] CODE = {
+            "```java\nlong start = System.nanoTime();\n```",
+            "```sql\nSELECT id, title FROM note WHERE status = 1 ORDER BY create_time DESC LIMIT 10;\n```",
+            "```bash\nwrk -t8 -c256 -d60s --latency http://localhost:8080/api/notes\n```"
+    };
+
+    private CorpusText() {
+    }
+
+    static String topic(Random random) {
+        return TOPICS[random.nextInt(TOPICS.length)];
+    }
+
+    static String title(Random random, String kind) {
+        return topic(random) + kind + " #" + Integer.toHexString(random.nextInt(0x10000));
+    }
+
+    static String sentence(Random random) {
+        return SENTENCES[random.nextInt(SENTENCES.length)];
+    }
+
+    static String markdown(Random random, int minParagraphs, int maxParagraphs) {
+        int paragraphs = minParagraphs + random.nextInt(maxParagraphs - minParagraphs + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            if (i % 3 == 0) {
+                sb.append("## ").append(topic(random)).append("\n\n");
+            }
+            int sentences = 2 + random.nextInt(4);
+            for (int j = 0; j < sentences; j++) {
+                sb.append(sentence(random));
+            }
+            sb.append("\n\n");
+            if (random.nextInt(4) == 0) {
+                sb.append(CODE[random.nextInt(CODE.length)]).append("\n\n");
+            }
+        }
+        return sb.toString();
+    }
+}
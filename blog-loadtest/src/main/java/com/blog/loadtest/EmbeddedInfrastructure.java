@@ -0,0 +1,122 @@
+package com.blog.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.FileSystemUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 替代 MySQL 与 Redis 的本地实例: MySQL 兼容模式的 H2 内存库 + 内嵌 redis-server
+ */
+@Slf4j
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:blog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * init.sql 面向 MySQL，建库与切库语句在 H2 中没有对应物
+     */
+    private static final Pattern DATABASE_STATEMENT = Pattern.compile(
+            "(?im)^\\s*(CREATE\\s+DATABASE|USE)\\b[^;]*;");
+
+    /**
+     * MySQL 的索引名在表内唯一，H2 要求在整个 schema 内唯一，去掉名字交给 H2 生成
+     */
+    private static final Pattern INDEX_NAME = Pattern.compile("(?i)\\bINDEX\\s+\\w+\\s*\\(");
+
+    private final RedisServer redisServer;
+    private final int redisPort;
+    private final Path workDir;
+
+    private EmbeddedInfrastructure(RedisServer redisServer, int redisPort, Path workDir) {
+        this.redisServer = redisServer;
+        this.redisPort = redisPort;
+        this.workDir = workDir;
+    }
+
+    public static EmbeddedInfrastructure start() throws IOException, SQLException {
+        Path workDir = Files.createTempDirectory("blog-loadtest");
+        int redisPort = freePort();
+        RedisServer redisServer = RedisServer.newRedisServer()
+                .bind("127.0.0.1")
+                .port(redisPort)
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .build();
+        redisServer.start();
+        log.info("内嵌 Redis 已启动，端口 {}", redisPort);
+
+        EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure(redisServer, redisPort, workDir);
+        try (Connection connection = infrastructure.openConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                    new EncodedResource(new ByteArrayResource(schemaScript()), StandardCharsets.UTF_8));
+        } catch (SQLException | RuntimeException e) {
+            infrastructure.close();
+            throw e;
+        }
+        log.info("H2 数据库已按 sql/init.sql 初始化");
+        return infrastructure;
+    }
+
+    public Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(JDBC_URL, "sa", "");
+    }
+
+    /**
+     * 指向内嵌实例的应用配置，以命令行参数形式传入，优先级高于 application.yml
+     */
+    public List<String> applicationArgs() {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        args.add("--spring.datasource.url=" + JDBC_URL);
+        args.add("--spring.datasource.username=sa");
+        args.add("--spring.datasource.password=");
+        args.add("--spring.data.redis.host=127.0.0.1");
+        args.add("--spring.data.redis.port=" + redisPort);
+        args.add("--blog.search.index-dir=" + workDir.resolve("search-index"));
+        return args;
+    }
+
+    private static byte[] schemaScript() throws IOException {
+        String script = new ClassPathResource("sql/init.sql").getContentAsString(StandardCharsets.UTF_8);
+        script = DATABASE_STATEMENT.matcher(script).replaceAll("");
+        script = INDEX_NAME.matcher(script).replaceAll("INDEX (");
+        return script.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            redisServer.stop();
+        } catch (IOException e) {
+            log.warn("停止内嵌 Redis 失败: {}", e.getMessage());
+        }
+        try {
+            FileSystemUtils.deleteRecursively(workDir);
+        } catch (IOException e) {
+            log.warn("清理临时目录 {} 失败: {}", workDir, e.getMessage());
+        }
+    }
+}
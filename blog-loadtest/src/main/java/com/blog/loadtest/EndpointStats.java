@@ -0,0 +1,37 @@
+package com.blog.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个接口的请求数、失败数与延迟分布 (微秒)
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long elapsedNanos, boolean success) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    long requests() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+}
@@ -0,0 +1,149 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 闭环压测: 每个线程收到响应后立即发下一个请求，先预热再计入统计
+ */
+@Slf4j
+class LoadDriver {
+
+    /**
+     * 业务成功的响应以 Result.code=200 开头，失败时 HTTP 状态码仍可能是 200
+     */
+    private static final String SUCCESS_PREFIX = "{\"code\":200";
+
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final Corpus corpus;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    LoadDriver(URI baseUri, LoadTestOptions options, Corpus corpus) {
+        this.baseUri = baseUri;
+        this.options = options;
+        this.corpus = corpus;
+        this.scenarios = Scenarios.mix(corpus);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Map<String, EndpointStats> run() throws InterruptedException, IOException {
+        List<Session> sessions = login();
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new EndpointStats()));
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        CountDownLatch done = new CountDownLatch(sessions.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        log.info("开始压测: {} 个并发，预热 {} 秒，统计 {} 秒",
+                sessions.size(), options.warmupSeconds(), options.durationSeconds());
+
+        for (Session session : sessions) {
+            Thread worker = new Thread(() -> {
+                try {
+                    drive(session, stats, warmupEnd, end);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }, "loadtest-worker-" + session.username());
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw new IllegalStateException("压测线程异常退出", failure.get());
+        }
+        return stats;
+    }
+
+    private void drive(Session session, Map<String, EndpointStats> stats, long warmupEnd, long end)
+            throws InterruptedException {
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Scenario scenario = pick(session);
+            HttpRequest request = scenario.request().apply(session);
+            boolean success;
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                success = response.statusCode() / 100 == 2 && response.body().startsWith(SUCCESS_PREFIX);
+            } catch (IOException e) {
+                success = false;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (now >= warmupEnd) {
+                stats.get(scenario.name()).record(elapsed, success);
+            }
+        }
+    }
+
+    private Scenario pick(Session session) {
+        int value = session.random().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.weight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("权重计算错误");
+    }
+
+    /**
+     * 每个线程使用不同的预置账号登录，预置账号不够时轮流复用
+     */
+    private List<Session> login() throws IOException, InterruptedException {
+        List<String> usernames = corpus.usernames();
+        Map<String, String> tokens = new LinkedHashMap<>();
+        List<Session> sessions = new ArrayList<>(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            String username = usernames.get(i % usernames.size());
+            String token = tokens.get(username);
+            if (token == null) {
+                token = login(username);
+                tokens.put(username, token);
+            }
+            sessions.add(new Session(baseUri, i, username, token, options.seed() + i));
+        }
+        return sessions;
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        String body = mapper.writeValueAsString(Map.of("username", username, "password", corpus.password()));
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode token = mapper.readTree(response.body()).path("data").path("token");
+        if (!token.isTextual()) {
+            throw new IllegalStateException("账号 " + username + " 登录失败: " + response.body());
+        }
+        return token.asText();
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.loadtest;
+
+import com.blog.BlogApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 端到端压测入口: 启动内嵌 H2 与 Redis，写入预置数据，以 loadtest profile 启动完整应用，
+ * 跑混合负载后把每个接口的吞吐与延迟分位写入 JSON 报告
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Instant startedAt = Instant.now();
+
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start()) {
+            Corpus corpus;
+            try (Connection connection = infrastructure.openConnection()) {
+                corpus = new CorpusGenerator(options).generate(connection);
+            }
+
+            List<String> applicationArgs = new ArrayList<>(infrastructure.applicationArgs());
+            applicationArgs.add("--server.port=0");
+            applicationArgs.addAll(options.applicationArgs());
+
+            Map<String, EndpointStats> stats;
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                    .profiles("loadtest")
+                    .run(applicationArgs.toArray(String[]::new))) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                stats = new LoadDriver(URI.create("http://127.0.0.1:" + port), options, corpus).run();
+            }
+
+            LoadTestReport report = LoadTestReport.of(options, corpus, startedAt, stats);
+            report.write(options.output());
+            log.info("压测完成: {} 个请求，{} 个失败，吞吐 {} 请求/秒，报告已写入 {}",
+                    report.total().requests(), report.total().errors(), report.total().throughput(),
+                    options.output().toAbsolutePath());
+        }
+        // 应用关闭后仍可能残留 Redis 客户端等非守护线程
+        System.exit(0);
+    }
+}
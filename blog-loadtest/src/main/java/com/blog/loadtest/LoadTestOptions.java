@@ -0,0 +1,74 @@
+package com.blog.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测参数，命令行形如 --concurrency=64。
+ * 未识别的参数原样传给 Spring Boot，可用来覆盖应用配置，例如 --blog.cache.max-cached-page=10
+ */
+public record LoadTestOptions(
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        int users,
+        int notes,
+        int questions,
+        int answersPerQuestion,
+        long seed,
+        Path output,
+        String label,
+        List<String> applicationArgs) {
+
+    private static final String PREFIX = "--";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = arg.startsWith(PREFIX) && eq > 0 ? arg.substring(PREFIX.length(), eq) : null;
+            if (key != null && isOption(key)) {
+                values.put(key, arg.substring(eq + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        return new LoadTestOptions(
+                intValue(values, "concurrency", 32),
+                intValue(values, "warmup", 15),
+                intValue(values, "duration", 60),
+                intValue(values, "users", 200),
+                intValue(values, "notes", 5000),
+                intValue(values, "questions", 2000),
+                intValue(values, "answers-per-question", 3),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("output", "loadtest-report.json")),
+                values.getOrDefault("label", ""),
+                List.copyOf(applicationArgs)
+        );
+    }
+
+    private static boolean isOption(String key) {
+        return switch (key) {
+            case "concurrency", "warmup", "duration", "users", "notes", "questions",
+                 "answers-per-question", "seed", "output", "label" -> true;
+            default -> false;
+        };
+    }
+
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(value);
+        if (parsed < 0) {
+            throw new IllegalArgumentException("参数 --" + key + " 不能为负数: " + value);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,101 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 写入 JSON 的压测结果。延迟单位为毫秒，吞吐单位为请求/秒，便于不同构建之间直接对比
+ */
+record LoadTestReport(
+        String label,
+        String startedAt,
+        Environment environment,
+        Config config,
+        Summary total,
+        List<Endpoint> endpoints) {
+
+    record Environment(String javaVersion, int availableProcessors, long maxHeapMb) {
+    }
+
+    record Config(int concurrency, int warmupSeconds, int durationSeconds, long seed,
+                  int users, int notes, int questions, int answers) {
+    }
+
+    record Summary(long requests, long errors, double throughput) {
+    }
+
+    record Latency(double mean, double p50, double p90, double p95, double p99, double p999, double max) {
+    }
+
+    record Endpoint(String name, long requests, long errors, double throughput, Latency latencyMs) {
+    }
+
+    static LoadTestReport of(LoadTestOptions options, Corpus corpus, Instant startedAt,
+                             Map<String, EndpointStats> stats) {
+        double seconds = Math.max(1, options.durationSeconds());
+        List<Endpoint> endpoints = stats.entrySet().stream()
+                .map(entry -> new Endpoint(
+                        entry.getKey(),
+                        entry.getValue().requests(),
+                        entry.getValue().errors(),
+                        round(entry.getValue().requests() / seconds),
+                        latency(entry.getValue().latency())))
+                .toList();
+        long requests = endpoints.stream().mapToLong(Endpoint::requests).sum();
+        long errors = endpoints.stream().mapToLong(Endpoint::errors).sum();
+
+        Runtime runtime = Runtime.getRuntime();
+        return new LoadTestReport(
+                options.label(),
+                startedAt.toString(),
+                new Environment(System.getProperty("java.version"), runtime.availableProcessors(),
+                        runtime.maxMemory() / (1024 * 1024)),
+                new Config(options.concurrency(), options.warmupSeconds(), options.durationSeconds(), options.seed(),
+                        corpus.usernames().size(),
+                        (int) (corpus.maxNoteId() - corpus.minNoteId() + 1),
+                        (int) (corpus.maxQuestionId() - corpus.minQuestionId() + 1),
+                        corpus.answers()),
+                new Summary(requests, errors, round(requests / seconds)),
+                endpoints);
+    }
+
+    void write(Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), this);
+    }
+
+    private static Latency latency(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return new Latency(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new Latency(
+                millis(histogram.getMean()),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
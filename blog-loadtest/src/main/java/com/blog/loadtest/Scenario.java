@@ -0,0 +1,10 @@
+package com.blog.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * 一类请求: name 按 "方法 路径模板" 命名，报告中按它汇总；weight 为在混合负载中的占比
+ */
+record Scenario(String name, int weight, Function<Session, HttpRequest> request) {
+}
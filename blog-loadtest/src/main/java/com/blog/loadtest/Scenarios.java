@@ -0,0 +1,128 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 混合读写负载。读多写少，详情页集中在少量热门内容上
+ */
+final class Scenarios {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * 热门内容占全部 ID 的比例，以及落在热门内容上的请求比例
+     */
+    private static final double HOT_FRACTION = 0.01;
+    private static final double HOT_TRAFFIC = 0.7;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Scenarios() {
+    }
+
+    static List<Scenario> mix(Corpus corpus) {
+        return List.of(
+                new Scenario("GET /api/notes", 18, s -> get(s, "/api/notes?page=" + listPage(s.random()))),
+                new Scenario("GET /api/notes/feed", 4, s -> get(s, "/api/notes/feed?pageSize=10")),
+                new Scenario("GET /api/notes/{id}", 18, s -> get(s, "/api/notes/"
+                        + skewedId(s.random(), corpus.minNoteId(), corpus.maxNoteId()))),
+                new Scenario("GET /api/notes/trending", 3, s -> get(s, "/api/notes/trending")),
+                new Scenario("GET /api/notes/categories", 2, s -> get(s, "/api/notes/categories")),
+                new Scenario("POST /api/notes", 3, s -> post(s, "/api/notes", Map.of(
+                        "title", CorpusText.title(s.random(), " 学习笔记"),
+                        "content", CorpusText.markdown(s.random(), 3, 10),
+                        "summary", CorpusText.sentence(s.random()),
+                        "categoryId", 1 + s.random().nextInt(8)))),
+                new Scenario("POST /api/notes/{id}/like", 4, s -> post(s, "/api/notes/"
+                        + uniformId(s.random(), corpus.minNoteId(), corpus.maxNoteId()) + "/like", null)),
+                new Scenario("GET /api/questions", 10, s -> get(s, "/api/questions?page=" + listPage(s.random()))),
+                new Scenario("GET /api/questions/{id}", 10, s -> get(s, "/api/questions/"
+                        + skewedId(s.random(), corpus.minQuestionId(), corpus.maxQuestionId()))),
+                new Scenario("GET /api/answers/question/{questionId}", 10, s -> get(s, "/api/answers/question/"
+                        + skewedId(s.random(), corpus.minQuestionId(), corpus.maxQuestionId()))),
+                new Scenario("POST /api/questions", 2, s -> post(s, "/api/questions", Map.of(
+                        "title", CorpusText.title(s.random(), " 相关问题"),
+                        "content", CorpusText.markdown(s.random(), 1, 4)))),
+                new Scenario("POST /api/answers", 5, s -> post(s, "/api/answers?questionId="
+                        + skewedId(s.random(), corpus.minQuestionId(), corpus.maxQuestionId()), Map.of(
+                        "content", CorpusText.markdown(s.random(), 1, 5)))),
+                new Scenario("GET /api/auth/me", 5, s -> get(s, "/api/auth/me")),
+                new Scenario("GET /api/auth/check/username", 3, s -> get(s, "/api/auth/check/username?username="
+                        + encode(s.random().nextBoolean() ? s.username() : s.uniqueName("free_")))),
+                new Scenario("POST /api/auth/login", 2, s -> post(s, "/api/auth/login", Map.of(
+                        "username", s.username(),
+                        "password", corpus.password()))),
+                new Scenario("POST /api/auth/register", 1, s -> {
+                    String username = s.uniqueName("r");
+                    return post(s, "/api/auth/register", Map.of(
+                            "username", username,
+                            "password", CorpusGenerator.PASSWORD,
+                            "confirmPassword", CorpusGenerator.PASSWORD,
+                            "nickname", username,
+                            "email", username + "@loadtest.local"));
+                })
+        );
+    }
+
+    /**
+     * 大部分请求落在前几页 (走缓存)，其余是更深的分页
+     */
+    private static int listPage(Random random) {
+        return random.nextInt(5) < 4 ? 1 + random.nextInt(3) : 6 + random.nextInt(45);
+    }
+
+    private static long skewedId(Random random, long min, long max) {
+        long hotCount = Math.max(1, (long) ((max - min + 1) * HOT_FRACTION));
+        if (random.nextDouble() < HOT_TRAFFIC) {
+            return max - random.nextLong(hotCount);
+        }
+        return uniformId(random, min, max);
+    }
+
+    private static long uniformId(Random random, long min, long max) {
+        return min + random.nextLong(max - min + 1);
+    }
+
+    private static HttpRequest get(Session session, String path) {
+        return builder(session, path).GET().build();
+    }
+
+    private static HttpRequest post(Session session, String path, Map<String, ?> body) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(json(body), StandardCharsets.UTF_8);
+        return builder(session, path)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    private static HttpRequest.Builder builder(Session session, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(session.uri(path)).timeout(TIMEOUT);
+        if (session.token() != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    private static String json(Map<String, ?> body) {
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package com.blog.loadtest;
+
+import java.net.URI;
+import java.util.Random;
+
+/**
+ * 一个压测线程对应的虚拟用户: 已登录的 token 与独立的随机序列
+ */
+final class Session {
+
+    private final URI baseUri;
+    private final int workerId;
+    private final String username;
+    private final String token;
+    private final Random random;
+    private int sequence;
+
+    Session(URI baseUri, int workerId, String username, String token, long seed) {
+        this.baseUri = baseUri;
+        this.workerId = workerId;
+        this.username = username;
+        this.token = token;
+        this.random = new Random(seed);
+    }
+
+    URI uri(String pathAndQuery) {
+        return baseUri.resolve(pathAndQuery);
+    }
+
+    String username() {
+        return username;
+    }
+
+    String token() {
+        return token;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    /**
+     * 本线程内唯一的名字，用于注册等需要不重复值的请求
+     */
+    String uniqueName(String prefix) {
+        return prefix + workerId + "_" + (sequence++);
+    }
+}